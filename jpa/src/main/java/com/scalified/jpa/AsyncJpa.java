@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The asynchronous counterpart of {@link Jpa}
+ *
+ * <p>
+ * Each operation runs on an executor with its own {@link javax.persistence.EntityManager},
+ * thus independent operations run concurrently. The {@link javax.persistence.EntityManager} is closed
+ * once the operation completes, thus the operation must materialize its result (e.g. a list instead
+ * of a stream) and the returned entities are detached
+ *
+ * <p>
+ * Cancelling the returned {@link CompletableFuture} interrupts the running operation
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public interface AsyncJpa {
+
+	/**
+	 * Applies the specified {@code function} to a new {@link Jpa} asynchronously
+	 *
+	 * <p>
+	 * Suits read operations, e.g. {@code asyncJpa.apply(jpa -> jpa.find(Person.class).list())}
+	 *
+	 * @param function a function to apply
+	 * @param <R>      type of the result
+	 * @return {@link CompletableFuture} completed with the function result
+	 */
+	<R> CompletableFuture<R> apply(Function<Jpa, R> function);
+
+	/**
+	 * Passes a new {@link Jpa} to the specified {@code consumer} asynchronously
+	 *
+	 * @param consumer a consumer to accept
+	 * @return {@link CompletableFuture} completed when the consumer is accepted
+	 */
+	CompletableFuture<Void> accept(Consumer<Jpa> consumer);
+
+	/**
+	 * Applies the specified {@code function} to a new {@link Jpa} asynchronously within
+	 * a resource local transaction
+	 *
+	 * <p>
+	 * The transaction is committed if the function completes normally, otherwise it is rolled back.
+	 * Suits write operations, e.g. {@code asyncJpa.applyInTransaction(jpa -> jpa.entity(person).insert())}
+	 *
+	 * @param function a function to apply
+	 * @param <R>      type of the result
+	 * @return {@link CompletableFuture} completed with the function result
+	 */
+	<R> CompletableFuture<R> applyInTransaction(Function<Jpa, R> function);
+
+	/**
+	 * Passes a new {@link Jpa} to the specified {@code consumer} asynchronously within
+	 * a resource local transaction
+	 *
+	 * <p>
+	 * The transaction is committed if the consumer completes normally, otherwise it is rolled back
+	 *
+	 * @param consumer a consumer to accept
+	 * @return {@link CompletableFuture} completed when the transaction is committed
+	 */
+	CompletableFuture<Void> acceptInTransaction(Consumer<Jpa> consumer);
+
+	/**
+	 * Returns a new {@link JpaGather}, which runs independent operations concurrently
+	 * and awaits them with a shared deadline
+	 *
+	 * @return a new {@link JpaGather}
+	 */
+	JpaGather gather();
+
+}
@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa;
+
+import com.scalified.jpa.commons.TaskFuture;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * An {@link AsyncJpa} implementation
+ *
+ * <p>
+ * Runs each operation on the {@link Executor} with a new {@link EntityManager} created
+ * from the {@link EntityManagerFactory}. Thread per task executors (e.g. virtual thread
+ * executors where available) suit best, since operations block on database calls
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class AsyncJpaImpl implements AsyncJpa {
+
+	/**
+	 * An {@link EntityManagerFactory} used to create {@link EntityManager} per operation
+	 */
+	private final EntityManagerFactory emf;
+
+	/**
+	 * An {@link Executor} to run operations on
+	 */
+	private final Executor executor;
+
+	/**
+	 * Creates {@link AsyncJpaImpl} instance
+	 *
+	 * @param emf      an {@link EntityManagerFactory} used to create {@link EntityManager} per operation
+	 * @param executor an {@link Executor} to run operations on
+	 */
+	public AsyncJpaImpl(EntityManagerFactory emf, Executor executor) {
+		this.emf = emf;
+		this.executor = executor;
+	}
+
+	/**
+	 * Applies the specified {@code function} to a new {@link Jpa} asynchronously
+	 *
+	 * @param function a function to apply
+	 * @param <R>      type of the result
+	 * @return {@link CompletableFuture} completed with the function result
+	 */
+	@Override
+	public <R> CompletableFuture<R> apply(Function<Jpa, R> function) {
+		return TaskFuture.submit(executor, () -> {
+			EntityManager em = emf.createEntityManager();
+			try {
+				return function.apply(new JpaImpl(em));
+			} finally {
+				em.close();
+			}
+		});
+	}
+
+	/**
+	 * Passes a new {@link Jpa} to the specified {@code consumer} asynchronously
+	 *
+	 * @param consumer a consumer to accept
+	 * @return {@link CompletableFuture} completed when the consumer is accepted
+	 */
+	@Override
+	public CompletableFuture<Void> accept(Consumer<Jpa> consumer) {
+		return apply(jpa -> {
+			consumer.accept(jpa);
+			return null;
+		});
+	}
+
+	/**
+	 * Applies the specified {@code function} to a new {@link Jpa} asynchronously within
+	 * a resource local transaction
+	 *
+	 * @param function a function to apply
+	 * @param <R>      type of the result
+	 * @return {@link CompletableFuture} completed with the function result
+	 */
+	@Override
+	public <R> CompletableFuture<R> applyInTransaction(Function<Jpa, R> function) {
+		return TaskFuture.submit(executor, () -> {
+			EntityManager em = emf.createEntityManager();
+			EntityTransaction transaction = em.getTransaction();
+			try {
+				transaction.begin();
+				R result = function.apply(new JpaImpl(em));
+				transaction.commit();
+				return result;
+			} finally {
+				try {
+					if (transaction.isActive()) {
+						transaction.rollback();
+					}
+				} finally {
+					em.close();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Passes a new {@link Jpa} to the specified {@code consumer} asynchronously within
+	 * a resource local transaction
+	 *
+	 * @param consumer a consumer to accept
+	 * @return {@link CompletableFuture} completed when the transaction is committed
+	 */
+	@Override
+	public CompletableFuture<Void> acceptInTransaction(Consumer<Jpa> consumer) {
+		return applyInTransaction(jpa -> {
+			consumer.accept(jpa);
+			return null;
+		});
+	}
+
+	/**
+	 * Returns a new {@link JpaGather}, which runs independent operations concurrently
+	 * and awaits them with a shared deadline
+	 *
+	 * @return a new {@link JpaGather}
+	 */
+	@Override
+	public JpaGather gather() {
+		return new JpaGather(this);
+	}
+
+}
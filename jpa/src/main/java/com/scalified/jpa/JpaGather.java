@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa;
+
+import javax.persistence.PersistenceException;
+import javax.persistence.QueryTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Gathers results of independent operations running concurrently with {@link AsyncJpa}
+ *
+ * <p>
+ * Operations are started as soon as they are added, each with its own
+ * {@link javax.persistence.EntityManager}, thus the total latency is the latency of the
+ * slowest operation rather than the sum of all latencies. All operations share a single
+ * deadline and are cancelled together:
+ *
+ * <pre>{@code
+ * JpaGather gather = asyncJpa.gather();
+ * CompletableFuture<List<Person>> persons = gather.add(jpa -> jpa.find(specification).list());
+ * CompletableFuture<Long> count = gather.add(jpa -> jpa.from(Car.class).count());
+ * gather.await(Duration.ofSeconds(1));
+ * }</pre>
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class JpaGather {
+
+	/**
+	 * An {@link AsyncJpa} to run operations with
+	 */
+	private final AsyncJpa asyncJpa;
+
+	/**
+	 * Futures of the added operations
+	 */
+	private final List<CompletableFuture<?>> futures = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Creates {@link JpaGather} instance
+	 *
+	 * @param asyncJpa an {@link AsyncJpa} to run operations with
+	 */
+	public JpaGather(AsyncJpa asyncJpa) {
+		this.asyncJpa = asyncJpa;
+	}
+
+	/**
+	 * Adds and starts an operation, which applies the specified {@code function} to a new {@link Jpa}
+	 *
+	 * @param function a function to apply
+	 * @param <R>      type of the result
+	 * @return {@link CompletableFuture} completed with the function result
+	 */
+	public <R> CompletableFuture<R> add(Function<Jpa, R> function) {
+		CompletableFuture<R> future = asyncJpa.apply(function);
+		futures.add(future);
+		return future;
+	}
+
+	/**
+	 * Waits for all added operations to complete within the specified {@code timeout}
+	 *
+	 * <p>
+	 * If any operation fails or the {@code timeout} elapses, the remaining operations are cancelled
+	 *
+	 * @param timeout maximum time to wait for all operations
+	 * @throws QueryTimeoutException if the {@code timeout} elapsed before all operations completed
+	 * @throws PersistenceException  if any operation failed or waiting was interrupted
+	 * @throws CancellationException if any operation was cancelled
+	 */
+	public void await(Duration timeout) {
+		CompletableFuture<?>[] pending = futures.toArray(new CompletableFuture<?>[0]);
+		CompletableFuture<Void> failure = new CompletableFuture<>();
+		for (CompletableFuture<?> future : pending) {
+			future.whenComplete((result, error) -> {
+				if (Objects.nonNull(error)) {
+					failure.completeExceptionally(error);
+				}
+			});
+		}
+		try {
+			CompletableFuture.anyOf(CompletableFuture.allOf(pending), failure)
+					.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			cancel();
+			throw new QueryTimeoutException("Operations did not complete within " + timeout);
+		} catch (InterruptedException e) {
+			cancel();
+			Thread.currentThread().interrupt();
+			throw new PersistenceException("Interrupted while waiting for operations", e);
+		} catch (ExecutionException e) {
+			cancel();
+			if (e.getCause() instanceof PersistenceException) {
+				throw (PersistenceException) e.getCause();
+			}
+			throw new PersistenceException("Operation failed", e.getCause());
+		} catch (CancellationException e) {
+			cancel();
+			throw e;
+		}
+	}
+
+	/**
+	 * Cancels all not yet completed operations, interrupting the running ones
+	 */
+	public void cancel() {
+		futures.forEach(future -> future.cancel(true));
+	}
+
+}
@@ -27,6 +27,8 @@ package com.scalified.jpa;
 
 import com.scalified.jpa.dsl.entities.JpaEntitiesDsl;
 import com.scalified.jpa.dsl.entities.JpaEntitiesDslImpl;
+import com.scalified.jpa.dsl.entities.JpaEntityStreamDsl;
+import com.scalified.jpa.dsl.entities.JpaEntityStreamDslImpl;
 import com.scalified.jpa.dsl.entity.JpaEntityDsl;
 import com.scalified.jpa.dsl.entity.JpaEntityDslImpl;
 import com.scalified.jpa.dsl.find.*;
@@ -41,6 +43,9 @@ import com.scalified.jpa.specification.Specification;
 
 import javax.persistence.EntityManager;
 import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * A {@link Jpa} implementation
@@ -193,6 +198,78 @@ public class JpaImpl implements Jpa {
 		return new JpaEntitiesDslImpl<>(manager, entities);
 	}
 
+	/**
+	 * Returns {@link JpaEntityStreamDsl} object, which provides the next <b>DSL</b> methods
+	 * within <b>DSL</b> call chain derived from stream of entity objects
+	 *
+	 * @param entities a stream of entity instances
+	 * @param <T>      type of an entity
+	 * @return {@link JpaEntityStreamDsl} object
+	 */
+	@Override
+	public <T> JpaEntityStreamDsl<T> entities(Stream<T> entities) {
+		return new JpaEntityStreamDslImpl<>(manager, entities);
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the unit of work ends
+	 *
+	 * <p>
+	 * Entity write operations invoked within the unit of work do not flush the persistence
+	 * context each, instead it is flushed once when the unit of work ends successfully,
+	 * thus the provider is able to batch the statements. A nested unit of work joins the outer one
+	 *
+	 * @param supplier a supplier to run within the unit of work
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	@Override
+	public <R> R unitOfWork(Supplier<R> supplier) {
+		return manager.unitOfWork(supplier);
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the specified {@code flushThreshold} number of entities
+	 * is written or the unit of work ends
+	 *
+	 * <p>
+	 * Entity write operations invoked within the unit of work do not flush the persistence
+	 * context each, thus the provider is able to batch the statements, while the number
+	 * of pending changes stays bounded. A nested unit of work joins the outer one
+	 *
+	 * @param flushThreshold number of written entities to flush after, {@code 0} means
+	 *                       flushing only when the unit of work ends
+	 * @param supplier       a supplier to run within the unit of work
+	 * @param <R>            type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	@Override
+	public <R> R unitOfWork(int flushThreshold, Supplier<R> supplier) {
+		return manager.unitOfWork(flushThreshold, supplier);
+	}
+
+	/**
+	 * Applies the specified {@code function} within a resource local transaction, thus all
+	 * <b>DSL</b> write operations invoked within it are committed at once
+	 *
+	 * <p>
+	 * Begins a new transaction and commits it when the {@code function} completes, or rolls it back
+	 * if the {@code function} fails. A nested transaction scope joins the already active transaction,
+	 * marking it for rollback only if the nested {@code function} fails
+	 *
+	 * @param function a function to apply to this {@link Jpa} within the transaction
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code function}
+	 * @throws javax.persistence.RollbackException if the transaction is marked for rollback only
+	 *                                             or fails to commit
+	 */
+	@Override
+	public <R> R inTransaction(Function<Jpa, R> function) {
+		return manager.inTransaction(() -> function.apply(this));
+	}
+
 	/**
 	 * Returns the underlying {@link EntityManager}
 	 *
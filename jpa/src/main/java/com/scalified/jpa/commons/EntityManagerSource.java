@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.commons;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * A source of {@link EntityManager} instances used apart from the caller {@link EntityManager},
+ * e.g. by parallel and prefetching streams, publishers and parallel deletion
+ *
+ * <p>
+ * Each {@link EntityManager} obtained via {@link #create()} must be returned via
+ * {@link #close(EntityManager)} instead of being closed directly, thus the source is able
+ * to bound the number of {@link EntityManager} instances in use
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public interface EntityManagerSource {
+
+	/**
+	 * Returns a new {@link EntityManager}
+	 *
+	 * @return a new {@link EntityManager}
+	 */
+	EntityManager create();
+
+	/**
+	 * Closes the specified {@code em} previously returned by {@link #create()}
+	 *
+	 * @param em an {@link EntityManager} to close
+	 */
+	void close(EntityManager em);
+
+	/**
+	 * Returns the {@link EntityManagerSource}, which creates {@link EntityManager} instances
+	 * from the specified {@code emf} and closes them directly
+	 *
+	 * @param emf an {@link EntityManagerFactory} to create {@link EntityManager} instances from
+	 * @return {@link EntityManagerSource} instance
+	 */
+	static EntityManagerSource of(EntityManagerFactory emf) {
+		return new EntityManagerSource() {
+
+			@Override
+			public EntityManager create() {
+				return emf.createEntityManager();
+			}
+
+			@Override
+			public void close(EntityManager em) {
+				em.close();
+			}
+
+		};
+	}
+
+}
@@ -25,12 +25,14 @@
 
 package com.scalified.jpa.commons;
 
+import com.scalified.jpa.stream.ChunkLoader;
+import com.scalified.jpa.stream.OffsetChunkLoader;
+
 import javax.persistence.TypedQuery;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.Spliterator;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -45,17 +47,12 @@ public class EntitySpliterator<T> implements Spliterator<T> {
 	/**
 	 * Default size of a chunk
 	 */
-	private static final int DEFAULT_CHUNK_SIZE = 50;
-
-	/**
-	 * Entity typed query
-	 */
-	private final TypedQuery<T> query;
+	public static final int DEFAULT_CHUNK_SIZE = 50;
 
 	/**
-	 * Start index position of each query
+	 * Entity chunk loader
 	 */
-	private final AtomicInteger startIdx = new AtomicInteger(0);
+	private final ChunkLoader<T> loader;
 
 	/**
 	 * Entity chunk queue, populated by queries
@@ -67,15 +64,23 @@ public class EntitySpliterator<T> implements Spliterator<T> {
 	 */
 	private final int chunkSize;
 
+	/**
+	 * Exact number of entities to traverse, negative if unknown
+	 */
+	private final long size;
+
+	/**
+	 * Number of the traversed entities
+	 */
+	private long traversed;
+
 	/**
 	 * Creates {@link EntitySpliterator} instance
 	 *
 	 * @param query a {@link TypedQuery} instance
 	 */
 	public EntitySpliterator(TypedQuery<T> query) {
-		this.query = query;
-		this.chunkSize = DEFAULT_CHUNK_SIZE;
-		this.chunk = new LinkedList<>();
+		this(query, DEFAULT_CHUNK_SIZE);
 	}
 
 	/**
@@ -85,8 +90,34 @@ public class EntitySpliterator<T> implements Spliterator<T> {
 	 * @param chunkSize size of a chunk
 	 */
 	public EntitySpliterator(TypedQuery<T> query, int chunkSize) {
-		this.query = query;
+		this(new OffsetChunkLoader<>(query), chunkSize);
+	}
+
+	/**
+	 * Creates {@link EntitySpliterator} instance
+	 *
+	 * @param loader    a {@link ChunkLoader} instance
+	 * @param chunkSize size of a chunk
+	 */
+	public EntitySpliterator(ChunkLoader<T> loader, int chunkSize) {
+		this(loader, chunkSize, -1);
+	}
+
+	/**
+	 * Creates {@link EntitySpliterator} instance, which reports {@link Spliterator#SIZED}
+	 * and {@link Spliterator#SUBSIZED} characteristics if the specified {@code size} is known
+	 *
+	 * <p>
+	 * Traverses at most the specified {@code size} entities
+	 *
+	 * @param loader    a {@link ChunkLoader} instance
+	 * @param chunkSize size of a chunk
+	 * @param size      exact number of entities to traverse, negative if unknown
+	 */
+	public EntitySpliterator(ChunkLoader<T> loader, int chunkSize, long size) {
+		this.loader = loader;
 		this.chunkSize = chunkSize;
+		this.size = size;
 		this.chunk = new LinkedList<>();
 	}
 
@@ -103,15 +134,16 @@ public class EntitySpliterator<T> implements Spliterator<T> {
 	 */
 	@Override
 	public boolean tryAdvance(Consumer<? super T> action) {
+		if (isSized() && traversed >= size) return false;
+
 		if (chunk.isEmpty()) {
-			List<T> chunkResult = query.setFirstResult(startIdx.getAndAdd(chunkSize))
-					.setMaxResults(chunkSize)
-					.getResultList();
+			List<T> chunkResult = loader.load(chunkSize);
 
 			if (chunkResult.isEmpty()) return false;
 
 			chunk.addAll(chunkResult);
 		}
+		traversed++;
 		action.accept(chunk.poll());
 		return true;
 	}
@@ -127,23 +159,34 @@ public class EntitySpliterator<T> implements Spliterator<T> {
 	}
 
 	/**
-	 * Returns {@link Long#MAX_VALUE} since infinite
+	 * Returns number of the remaining entities if size is known, otherwise
+	 * returns {@link Long#MAX_VALUE} since infinite
 	 *
-	 * @return {@link Long#MAX_VALUE}
+	 * @return number of the remaining entities or {@link Long#MAX_VALUE}
 	 */
 	@Override
 	public long estimateSize() {
-		return Long.MAX_VALUE;
+		return isSized() ? size - traversed : Long.MAX_VALUE;
 	}
 
 	/**
-	 * Returns {@link Spliterator#ORDERED} since preserves order
+	 * Returns {@link Spliterator#ORDERED} since preserves order, combined with
+	 * {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED} if size is known
 	 *
-	 * @return {@link Spliterator#ORDERED}
+	 * @return {@link Spliterator} characteristics
 	 */
 	@Override
 	public int characteristics() {
-		return Spliterator.ORDERED;
+		return isSized() ? Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED : Spliterator.ORDERED;
+	}
+
+	/**
+	 * Returns {@code true} if size is known, otherwise returns {@code false}
+	 *
+	 * @return {@code true} if size is known, {@code false} otherwise
+	 */
+	private boolean isSized() {
+		return size >= 0;
 	}
 
 }
@@ -0,0 +1,208 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.commons;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.Type;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Provides utility methods for entities, based on the persistence metamodel
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class EntityUtils {
+
+	/**
+	 * Returns the name of the single primary key attribute of the specified {@code entityClass}
+	 *
+	 * @param em          an {@link EntityManager} to obtain the metamodel from
+	 * @param entityClass a class of an entity
+	 * @return the name of the primary key attribute
+	 * @throws IllegalArgumentException if the entity does not have a single primary key attribute
+	 */
+	public static String getIdAttributeName(EntityManager em, Class<?> entityClass) {
+		EntityType<?> entityType = em.getMetamodel().entity(entityClass);
+		if (!entityType.hasSingleIdAttribute()) {
+			throw new IllegalArgumentException(entityClass.getName() + " does not have a single id attribute");
+		}
+		return entityType.getId(entityType.getIdType().getJavaType()).getName();
+	}
+
+	/**
+	 * Returns the value of the specified {@code attribute} of the specified {@code entity}
+	 *
+	 * <p>
+	 * The primary key attribute value is resolved via {@link javax.persistence.PersistenceUnitUtil},
+	 * any other attribute value is read from the attribute java member
+	 *
+	 * @param em          an {@link EntityManager} to obtain the metamodel from
+	 * @param entityClass a class of an entity
+	 * @param entity      an entity object to read attribute value of
+	 * @param attribute   an attribute name
+	 * @return the value of the attribute
+	 */
+	public static Object getAttributeValue(EntityManager em, Class<?> entityClass, Object entity, String attribute) {
+		if (attribute.equals(getIdAttributeName(em, entityClass))) {
+			return em.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+		}
+		Member member = em.getMetamodel().entity(entityClass).getAttribute(attribute).getJavaMember();
+		return readMember(member, entity);
+	}
+
+	/**
+	 * Returns the root entity class of the inheritance hierarchy of the specified {@code type}
+	 *
+	 * <p>
+	 * The specified {@code type} may be an entity class, its subclass (e.g. a provider proxy class)
+	 * or any other class, which is returned as is if it does not extend any entity class
+	 *
+	 * @param metamodel a {@link Metamodel} of the persistence unit
+	 * @param type      a class to resolve the root entity class of
+	 * @return the root entity class or the specified {@code type} if it is not an entity class
+	 */
+	public static Class<?> getRootEntityClass(Metamodel metamodel, Class<?> type) {
+		Set<Class<?>> entityClasses = metamodel.getEntities().stream()
+				.map(Type::getJavaType)
+				.collect(Collectors.toSet());
+		Class<?> root = type;
+		for (Class<?> current = type; Objects.nonNull(current); current = current.getSuperclass()) {
+			if (entityClasses.contains(current)) {
+				root = current;
+			}
+		}
+		return root;
+	}
+
+	/**
+	 * Returns the values of the primary key and version attributes of the specified {@code entity}
+	 *
+	 * <p>
+	 * The returned state is meant to be restored with {@link #setIdentityState(Object, Map)}, thus
+	 * reverting the state assigned by the persistence provider (e.g. a generated primary key or
+	 * an initial version) to the entity, which was persisted in a rolled back transaction. An empty
+	 * state is returned if the {@code entity} is not an instance of an entity class
+	 *
+	 * @param metamodel a {@link Metamodel} of the persistence unit
+	 * @param entity    an entity object to read the state of
+	 * @return the values of the primary key and version attributes keyed by the attribute java members
+	 */
+	public static Map<Member, Object> getIdentityState(Metamodel metamodel, Object entity) {
+		Set<Class<?>> entityClasses = metamodel.getEntities().stream()
+				.map(Type::getJavaType)
+				.collect(Collectors.toSet());
+		Class<?> entityClass = entity.getClass();
+		while (Objects.nonNull(entityClass) && !entityClasses.contains(entityClass)) {
+			entityClass = entityClass.getSuperclass();
+		}
+		Map<Member, Object> state = new LinkedHashMap<>();
+		if (Objects.isNull(entityClass)) {
+			return state;
+		}
+		for (SingularAttribute<?, ?> attribute : metamodel.entity(entityClass).getSingularAttributes()) {
+			if (attribute.isId() || attribute.isVersion()) {
+				Member member = attribute.getJavaMember();
+				state.put(member, readMember(member, entity));
+			}
+		}
+		return state;
+	}
+
+	/**
+	 * Restores the values of the primary key and version attributes of the specified {@code entity}
+	 * previously returned by {@link #getIdentityState(Metamodel, Object)}
+	 *
+	 * @param entity an entity object to restore the state of
+	 * @param state  the values of the primary key and version attributes keyed by the attribute java members
+	 */
+	public static void setIdentityState(Object entity, Map<Member, Object> state) {
+		state.forEach((member, value) -> writeMember(member, entity, value));
+	}
+
+	/**
+	 * Reads the value of the specified attribute java {@code member} of the specified {@code entity}
+	 *
+	 * @param member an attribute field or getter method
+	 * @param entity an entity object to read the value of
+	 * @return the value of the attribute
+	 */
+	private static Object readMember(Member member, Object entity) {
+		try {
+			if (member instanceof Field) {
+				Field field = (Field) member;
+				field.setAccessible(true);
+				return field.get(entity);
+			}
+			Method method = (Method) member;
+			method.setAccessible(true);
+			return method.invoke(entity);
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			throw new PersistenceException("Failed to read " + member.getName() + " of " + entity.getClass().getName(), e);
+		}
+	}
+
+	/**
+	 * Writes the specified {@code value} to the specified attribute java {@code member}
+	 * of the specified {@code entity}
+	 *
+	 * <p>
+	 * A getter method member is written via the setter method of the same property
+	 *
+	 * @param member an attribute field or getter method
+	 * @param entity an entity object to write the value to
+	 * @param value  the value of the attribute
+	 */
+	private static void writeMember(Member member, Object entity, Object value) {
+		try {
+			if (member instanceof Field) {
+				Field field = (Field) member;
+				field.setAccessible(true);
+				field.set(entity, value);
+				return;
+			}
+			Method getter = (Method) member;
+			String property = getter.getName().replaceFirst("^(get|is)", "");
+			Method setter = getter.getDeclaringClass().getDeclaredMethod("set" + property, getter.getReturnType());
+			setter.setAccessible(true);
+			setter.invoke(entity, value);
+		} catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+			throw new PersistenceException("Failed to write " + member.getName() + " of " + entity.getClass().getName(), e);
+		}
+	}
+
+}
@@ -0,0 +1,347 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.commons;
+
+import com.scalified.jpa.function.ExpressionFunction;
+import com.scalified.jpa.stream.ChunkLoader;
+import com.scalified.jpa.stream.DetachingChunkLoader;
+import com.scalified.jpa.stream.KeysetChunkLoader;
+import com.scalified.jpa.stream.StatisticsChunkLoader;
+import com.scalified.jpa.stream.StreamStatistics;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * A {@link Spliterator} used to create parallel {@link Stream} for entity chunk loading
+ *
+ * <p>
+ * Covers a range of an integral key attribute values ({@code long}, {@code int}, {@code short}
+ * or {@code byte}, either primitive or boxed) and splits by halving the range.
+ * Each split loads its entities using keyset paging with its own {@link EntityManager}
+ * obtained from the {@link EntityManagerSource}, thus the loaded entities are detached
+ * from the caller {@link EntityManager}. The persistence context of each split is cleared
+ * before the next chunk is loaded
+ *
+ * <p>
+ * The split ranges have the same width, thus the work is balanced well only when
+ * the key values are distributed evenly
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class RangeEntitySpliterator<T> implements Spliterator<T> {
+
+	/**
+	 * An {@link EntityManagerSource} used to obtain {@link EntityManager} for each split
+	 */
+	private final EntityManagerSource source;
+
+	/**
+	 * A class of the loaded entities
+	 */
+	private final Class<T> entityClass;
+
+	/**
+	 * An {@link ExpressionFunction} to filter entities, may be {@code null}
+	 */
+	private final ExpressionFunction<T> function;
+
+	/**
+	 * A name of the key attribute
+	 */
+	private final String attribute;
+
+	/**
+	 * A type of the key attribute
+	 */
+	private final Class<?> keyType;
+
+	/**
+	 * Size of a chunk
+	 */
+	private final int chunkSize;
+
+	/**
+	 * {@link StreamStatistics} to record the loaded chunks into
+	 */
+	private final StreamStatistics statistics;
+
+	/**
+	 * {@link EntityManager} instances opened by this spliterator and all its splits
+	 */
+	private final Queue<EntityManager> openedManagers;
+
+	/**
+	 * The lowest key of the range, inclusive
+	 */
+	private long lowerKey;
+
+	/**
+	 * The highest key of the range, inclusive
+	 */
+	private final long upperKey;
+
+	/**
+	 * Whether the range of this split is traversed or empty
+	 */
+	private boolean exhausted;
+
+	/**
+	 * An {@link EntityManager} of this split, created on the first traversal
+	 */
+	private EntityManager em;
+
+	/**
+	 * A delegate {@link Spliterator} traversing this split, created on the first traversal
+	 */
+	private Spliterator<T> delegate;
+
+	/**
+	 * Creates {@link RangeEntitySpliterator} instance
+	 *
+	 * @param source         an {@link EntityManagerSource} used to obtain {@link EntityManager} for each split
+	 * @param entityClass    a class of the loaded entities
+	 * @param function       an {@link ExpressionFunction} to filter entities, may be {@code null}
+	 * @param attribute      a name of the key attribute
+	 * @param keyType        a type of the key attribute
+	 * @param chunkSize      size of a chunk
+	 * @param statistics     {@link StreamStatistics} to record the loaded chunks into
+	 * @param openedManagers {@link EntityManager} instances opened by the spliterator and all its splits
+	 * @param lowerKey       the lowest key of the range, inclusive
+	 * @param upperKey       the highest key of the range, inclusive
+	 */
+	private RangeEntitySpliterator(EntityManagerSource source, Class<T> entityClass, ExpressionFunction<T> function,
+	                               String attribute, Class<?> keyType, int chunkSize, StreamStatistics statistics,
+	                               Queue<EntityManager> openedManagers, long lowerKey, long upperKey) {
+		this.source = source;
+		this.entityClass = entityClass;
+		this.function = function;
+		this.attribute = attribute;
+		this.keyType = keyType;
+		this.chunkSize = chunkSize;
+		this.statistics = statistics;
+		this.openedManagers = openedManagers;
+		this.lowerKey = lowerKey;
+		this.upperKey = upperKey;
+		this.exhausted = lowerKey > upperKey;
+	}
+
+	/**
+	 * Creates {@link RangeEntitySpliterator} instance, which covers the whole range of
+	 * the specified {@code attribute} values
+	 *
+	 * <p>
+	 * Probes the lowest and the highest key values using the specified {@code em}
+	 *
+	 * @param em          an {@link EntityManager} used to probe the key range
+	 * @param source      an {@link EntityManagerSource} used to obtain {@link EntityManager} for each split
+	 * @param entityClass a class of the loaded entities
+	 * @param function    an {@link ExpressionFunction} to filter entities, may be {@code null}
+	 * @param attribute   a name of the integral key attribute
+	 * @param chunkSize   size of a chunk
+	 * @param statistics  {@link StreamStatistics} to record the loaded chunks into
+	 * @param <T>         type of the loaded entities
+	 * @return {@link RangeEntitySpliterator} instance
+	 * @throws IllegalArgumentException if the key attribute is not of an integral type within
+	 *                                  the {@code long} range
+	 */
+	public static <T> RangeEntitySpliterator<T> of(EntityManager em, EntityManagerSource source, Class<T> entityClass,
+	                                               ExpressionFunction<T> function, String attribute, int chunkSize,
+	                                               StreamStatistics statistics) {
+		Class<?> keyType = em.getMetamodel().entity(entityClass).getAttribute(attribute).getJavaType();
+		if (!isIntegral(keyType)) {
+			throw new IllegalArgumentException("Range partitioning requires integral key attribute, but "
+					+ attribute + " is " + keyType.getName());
+		}
+
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> criteriaQuery = builder.createQuery(Object[].class);
+		Root<T> root = criteriaQuery.from(entityClass);
+		Path<Number> key = root.get(attribute);
+		criteriaQuery.multiselect(builder.min(key), builder.max(key));
+		if (Objects.nonNull(function)) {
+			criteriaQuery.where(function.apply(builder, root));
+		}
+		Object[] range = em.createQuery(criteriaQuery).getSingleResult();
+
+		Queue<EntityManager> openedManagers = new ConcurrentLinkedQueue<>();
+		if (Objects.isNull(range[0])) {
+			return new RangeEntitySpliterator<>(source, entityClass, function, attribute, keyType, chunkSize,
+					statistics, openedManagers, 0, -1);
+		}
+		return new RangeEntitySpliterator<>(source, entityClass, function, attribute, keyType, chunkSize,
+				statistics, openedManagers, ((Number) range[0]).longValue(), ((Number) range[1]).longValue());
+	}
+
+	/**
+	 * If a remaining element exists, performs the given action on it,
+	 * returning {@code true}; else returns {@code false}.
+	 * The action is performed on the next element in encounter order.
+	 * Exceptions thrown by the action are relayed to the caller.
+	 *
+	 * @param action the action
+	 * @return {@code false} if no remaining elements existed
+	 * upon entry to this method, else {@code true}.
+	 * @throws NullPointerException if the specified action is {@code null}
+	 */
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if (exhausted) return false;
+
+		if (Objects.isNull(delegate)) {
+			em = source.create();
+			openedManagers.add(em);
+			ChunkLoader<T> loader = new KeysetChunkLoader<>(em, entityClass, rangeFunction(), attribute);
+			loader = new StatisticsChunkLoader<>(loader, statistics, true);
+			delegate = new EntitySpliterator<>(new DetachingChunkLoader<>(em, loader, true, statistics), chunkSize);
+		}
+		if (delegate.tryAdvance(action)) return true;
+
+		exhausted = true;
+		if (openedManagers.remove(em)) {
+			source.close(em);
+		}
+		return false;
+	}
+
+	/**
+	 * Splits the key range in halves, if this spliterator is not traversed yet
+	 * and its range is wider than a chunk
+	 *
+	 * <p>
+	 * Returns a {@link Spliterator} covering the lower half of the range,
+	 * while this spliterator keeps covering the upper half
+	 *
+	 * @return a {@link Spliterator} covering the lower half of the range or {@code null}
+	 * if this spliterator cannot be split
+	 */
+	@Override
+	public Spliterator<T> trySplit() {
+		if (Objects.nonNull(delegate) || estimateSize() <= chunkSize) return null;
+
+		long middleKey = (lowerKey >> 1) + (upperKey >> 1) + (lowerKey & upperKey & 1);
+		RangeEntitySpliterator<T> prefix = new RangeEntitySpliterator<>(source, entityClass, function, attribute, keyType,
+				chunkSize, statistics, openedManagers, lowerKey, middleKey);
+		lowerKey = middleKey + 1;
+		return prefix;
+	}
+
+	/**
+	 * Returns the width of the remaining key range, which is the upper bound
+	 * of the remaining entities count
+	 *
+	 * <p>
+	 * Returns {@link Long#MAX_VALUE} if the width exceeds it
+	 *
+	 * @return the width of the remaining key range
+	 */
+	@Override
+	public long estimateSize() {
+		if (exhausted) return 0;
+
+		long width = upperKey - lowerKey;
+		return width < 0 || width == Long.MAX_VALUE ? Long.MAX_VALUE : width + 1;
+	}
+
+	/**
+	 * Returns {@link Spliterator#ORDERED} since preserves order
+	 *
+	 * @return {@link Spliterator#ORDERED}
+	 */
+	@Override
+	public int characteristics() {
+		return Spliterator.ORDERED;
+	}
+
+	/**
+	 * Closes {@link EntityManager} instances, which are still opened by this
+	 * spliterator or any of its splits
+	 */
+	public void close() {
+		EntityManager manager;
+		while (Objects.nonNull(manager = openedManagers.poll())) {
+			if (manager.isOpen()) {
+				source.close(manager);
+			}
+		}
+	}
+
+	/**
+	 * Returns the {@link ExpressionFunction}, which restricts entities to the range of this
+	 * spliterator and applies the filter
+	 *
+	 * @return {@link ExpressionFunction} restricting entities to the range
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private ExpressionFunction<T> rangeFunction() {
+		Comparable lower = toKey(lowerKey);
+		Comparable upper = toKey(upperKey);
+		return (builder, root) -> {
+			Path<Comparable> key = root.get(attribute);
+			if (Objects.isNull(function)) {
+				return builder.between(key, lower, upper);
+			}
+			return builder.and(builder.isTrue(function.apply(builder, root)), builder.between(key, lower, upper));
+		};
+	}
+
+	/**
+	 * Converts the specified {@code value} to the key attribute type
+	 *
+	 * @param value key value
+	 * @return key value converted to the key attribute type
+	 */
+	private Comparable<?> toKey(long value) {
+		if (keyType == Long.class || keyType == long.class) return value;
+		if (keyType == Integer.class || keyType == int.class) return (int) value;
+		if (keyType == Short.class || keyType == short.class) return (short) value;
+		return (byte) value;
+	}
+
+	/**
+	 * Returns {@code true} if the specified {@code type} is an integral type within
+	 * the {@code long} range, supported for range partitioning, otherwise returns {@code false}
+	 *
+	 * @param type a type to check
+	 * @return {@code true} if the specified {@code type} is integral, {@code false} otherwise
+	 */
+	private static boolean isIntegral(Class<?> type) {
+		return type == Long.class || type == long.class
+				|| type == Integer.class || type == int.class
+				|| type == Short.class || type == short.class
+				|| type == Byte.class || type == byte.class;
+	}
+
+}
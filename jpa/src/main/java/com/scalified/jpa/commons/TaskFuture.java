@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.commons;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A {@link CompletableFuture} completed by a task running on an {@link Executor}
+ *
+ * <p>
+ * Unlike plain {@link CompletableFuture}, cancelling this future interrupts the running task
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class TaskFuture<R> extends CompletableFuture<R> {
+
+	/**
+	 * An underlying task completing this future
+	 */
+	private final FutureTask<R> task;
+
+	/**
+	 * Creates {@link TaskFuture} instance
+	 *
+	 * @param callable a callable to run
+	 */
+	private TaskFuture(Callable<R> callable) {
+		this.task = new FutureTask<>(callable) {
+			@Override
+			protected void done() {
+				if (isCancelled()) {
+					TaskFuture.super.cancel(false);
+					return;
+				}
+				try {
+					complete(get());
+				} catch (ExecutionException e) {
+					completeExceptionally(e.getCause());
+				} catch (InterruptedException e) {
+					completeExceptionally(e);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Submits the specified {@code callable} to the specified {@code executor}
+	 *
+	 * @param executor an {@link Executor} to run the callable on
+	 * @param callable a callable to run
+	 * @param <R>      type of the result
+	 * @return {@link TaskFuture} completed with the callable result
+	 */
+	public static <R> TaskFuture<R> submit(Executor executor, Callable<R> callable) {
+		TaskFuture<R> future = new TaskFuture<>(callable);
+		executor.execute(future.task);
+		return future;
+	}
+
+	/**
+	 * Cancels this future, interrupting the running task
+	 *
+	 * @param mayInterruptIfRunning ignored, since the running task is always interrupted
+	 * @return {@code true} if this future is now cancelled
+	 */
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		task.cancel(true);
+		return super.cancel(mayInterruptIfRunning);
+	}
+
+}
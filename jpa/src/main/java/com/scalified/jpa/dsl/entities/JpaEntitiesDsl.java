@@ -26,6 +26,7 @@
 package com.scalified.jpa.dsl.entities;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * <b>DSL</b> for working with collection of entities
@@ -42,6 +43,16 @@ public interface JpaEntitiesDsl<T> {
 	 */
 	Collection<T> insert();
 
+	/**
+	 * Inserts the previously defined collection of entities in batches of
+	 * the specified {@code batchSize}, flushing and clearing the persistence
+	 * context after each batch
+	 *
+	 * @param batchSize number of entities to insert per batch
+	 * @return number of inserted entities
+	 */
+	long insert(int batchSize);
+
 	/**
 	 * Updates the previously defined collection of entities
 	 *
@@ -49,6 +60,16 @@ public interface JpaEntitiesDsl<T> {
 	 */
 	Collection<T> update();
 
+	/**
+	 * Updates the previously defined collection of entities in batches of
+	 * the specified {@code batchSize}, flushing and clearing the persistence
+	 * context after each batch
+	 *
+	 * @param batchSize number of entities to update per batch
+	 * @return an ordered list of updated entities, which are detached
+	 */
+	List<T> update(int batchSize);
+
 	/**
 	 * Deletes the previously defined collection of entities
 	 */
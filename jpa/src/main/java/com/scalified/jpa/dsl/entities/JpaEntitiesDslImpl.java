@@ -28,6 +28,7 @@ package com.scalified.jpa.dsl.entities;
 import com.scalified.jpa.manager.JpaManager;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * A {@link JpaEntitiesDsl} implementation
@@ -68,6 +69,19 @@ public class JpaEntitiesDslImpl<T, K extends Collection<T>> implements JpaEntiti
 		return manager.insert(entities);
 	}
 
+	/**
+	 * Inserts the previously defined collection of entities in batches of
+	 * the specified {@code batchSize}, flushing and clearing the persistence
+	 * context after each batch
+	 *
+	 * @param batchSize number of entities to insert per batch
+	 * @return number of inserted entities
+	 */
+	@Override
+	public long insert(int batchSize) {
+		return manager.insert(entities.iterator(), batchSize);
+	}
+
 	/**
 	 * Updates the previously defined collection of entities
 	 *
@@ -78,6 +92,19 @@ public class JpaEntitiesDslImpl<T, K extends Collection<T>> implements JpaEntiti
 		return manager.update(entities);
 	}
 
+	/**
+	 * Updates the previously defined collection of entities in batches of
+	 * the specified {@code batchSize}, flushing and clearing the persistence
+	 * context after each batch
+	 *
+	 * @param batchSize number of entities to update per batch
+	 * @return an ordered list of updated entities, which are detached
+	 */
+	@Override
+	public List<T> update(int batchSize) {
+		return manager.update(entities, batchSize);
+	}
+
 	/**
 	 * Deletes the previously defined collection of entities
 	 */
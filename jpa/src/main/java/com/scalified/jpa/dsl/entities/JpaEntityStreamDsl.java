@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.dsl.entities;
+
+/**
+ * <b>DSL</b> for working with stream of entities
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public interface JpaEntityStreamDsl<T> {
+
+	/**
+	 * Inserts the previously defined stream of entities in batches of
+	 * the specified {@code batchSize}, flushing and clearing the persistence
+	 * context after each batch
+	 *
+	 * <p>
+	 * Entities are consumed lazily, thus the whole stream is never held in memory.
+	 * The stream is closed when the operation completes
+	 *
+	 * @param batchSize number of entities to insert per batch
+	 * @return number of inserted entities
+	 */
+	long insert(int batchSize);
+
+	/**
+	 * Updates the previously defined stream of entities in batches of
+	 * the specified {@code batchSize}, flushing and clearing the persistence
+	 * context after each batch
+	 *
+	 * <p>
+	 * Entities are consumed lazily, thus neither the whole stream nor the updated
+	 * entities are held in memory. The stream is closed when the operation completes
+	 *
+	 * @param batchSize number of entities to update per batch
+	 * @return number of updated entities
+	 */
+	long update(int batchSize);
+
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.dsl.entities;
+
+import com.scalified.jpa.manager.JpaManager;
+
+import java.util.stream.Stream;
+
+/**
+ * A {@link JpaEntityStreamDsl} implementation
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class JpaEntityStreamDslImpl<T> implements JpaEntityStreamDsl<T> {
+
+	/**
+	 * An underlying {@link JpaManager}
+	 */
+	private final JpaManager manager;
+
+	/**
+	 * A stream of entities to perform operations on
+	 */
+	private final Stream<T> entities;
+
+	/**
+	 * Creates {@link JpaEntityStreamDslImpl} instance
+	 *
+	 * @param manager  an underlying {@link JpaManager}
+	 * @param entities stream of entities to perform operations on
+	 */
+	public JpaEntityStreamDslImpl(JpaManager manager, Stream<T> entities) {
+		this.manager = manager;
+		this.entities = entities;
+	}
+
+	/**
+	 * Inserts the previously defined stream of entities in batches of
+	 * the specified {@code batchSize}, flushing and clearing the persistence
+	 * context after each batch
+	 *
+	 * @param batchSize number of entities to insert per batch
+	 * @return number of inserted entities
+	 */
+	@Override
+	public long insert(int batchSize) {
+		try (Stream<T> stream = entities) {
+			return manager.insert(stream.iterator(), batchSize);
+		}
+	}
+
+	/**
+	 * Updates the previously defined stream of entities in batches of
+	 * the specified {@code batchSize}, flushing and clearing the persistence
+	 * context after each batch
+	 *
+	 * <p>
+	 * Entities are consumed lazily, thus neither the whole stream nor the updated
+	 * entities are held in memory
+	 *
+	 * @param batchSize number of entities to update per batch
+	 * @return number of updated entities
+	 */
+	@Override
+	public long update(int batchSize) {
+		try (Stream<T> stream = entities) {
+			return manager.update(stream.iterator(), batchSize);
+		}
+	}
+
+}
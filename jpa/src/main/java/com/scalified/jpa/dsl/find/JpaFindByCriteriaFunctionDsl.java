@@ -27,10 +27,12 @@ package com.scalified.jpa.dsl.find;
 
 import com.scalified.jpa.function.CriteriaFunction;
 import com.scalified.jpa.function.ResultFunction;
+import com.scalified.jpa.stream.StreamConfig;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Flow;
 import java.util.stream.Stream;
 
 /**
@@ -81,11 +83,60 @@ public interface JpaFindByCriteriaFunctionDsl<T> {
 	 */
 	Stream<T> stream(int chunkSize);
 
+	/**
+	 * Returns a stream of all found entities using previously defined {@link CriteriaFunction},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param config stream configuration object
+	 * @return a stream of all found entities
+	 */
+	Stream<T> stream(StreamConfig config);
+
+	/**
+	 * Returns a publisher of all found entities using previously defined {@link CriteriaFunction}, which loads
+	 * chunks as subscribers request them and is configured with the specified stream {@code config}
+	 *
+	 * @param config stream configuration object
+	 * @return a publisher of all found entities
+	 */
+	Flow.Publisher<T> publisher(StreamConfig config);
+
 	/**
 	 * Returns the first found entity using previously defined {@link CriteriaFunction}
 	 *
+	 * <p>
+	 * Loads at most one entity
+	 *
 	 * @return the first found entity
 	 */
 	Optional<T> first();
 
+	/**
+	 * Returns a list of at most the specified {@code count} first found entities using previously defined {@link CriteriaFunction}
+	 *
+	 * @param count maximum number of entities to find
+	 * @return a list of at most {@code count} first found entities
+	 */
+	List<T> top(int count);
+
+	/**
+	 * Returns a list of at most the specified {@code size} entities found using previously defined {@link CriteriaFunction},
+	 * skipping the specified {@code offset} first entities
+	 *
+	 * @param offset number of entities to skip
+	 * @param size   maximum number of entities to find
+	 * @return a list of at most {@code size} found entities
+	 */
+	List<T> page(int offset, int size);
+
+	/**
+	 * Returns {@code true} if any entity is found using previously defined {@link CriteriaFunction}, otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Loads at most one entity
+	 *
+	 * @return {@code true} if any entity is found, {@code false} otherwise
+	 */
+	boolean exists();
+
 }
@@ -27,11 +27,13 @@ package com.scalified.jpa.dsl.find;
 
 import com.scalified.jpa.function.ResultFunction;
 import com.scalified.jpa.manager.JpaManager;
+import com.scalified.jpa.stream.StreamConfig;
 
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Flow;
 import java.util.stream.Stream;
 
 /**
@@ -130,14 +132,78 @@ public class JpaFindByEntityClassDslImpl<T> implements JpaFindByEntityClassDsl<T
 		return manager.stream(entityClass, chunkSize);
 	}
 
+	/**
+	 * Returns a stream of all found entities by their class, which is configured
+	 * with the specified stream {@code config}
+	 *
+	 * @param config stream configuration object
+	 * @return a stream of all found entities
+	 */
+	@Override
+	public Stream<T> stream(StreamConfig config) {
+		return manager.stream(entityClass, config);
+	}
+
+	/**
+	 * Returns a publisher of all found entities by their class, which loads
+	 * chunks as subscribers request them and is configured with the specified stream {@code config}
+	 *
+	 * @param config stream configuration object
+	 * @return a publisher of all found entities
+	 */
+	@Override
+	public Flow.Publisher<T> publisher(StreamConfig config) {
+		return manager.publisher(entityClass, config);
+	}
+
 	/**
 	 * Returns the first found entity by class
 	 *
+	 * <p>
+	 * Loads at most one entity
+	 *
 	 * @return the first found entity
 	 */
 	@Override
 	public Optional<T> first() {
-		return list().stream().findFirst();
+		return some(query -> query.setMaxResults(1).getResultList()).stream().findFirst();
+	}
+
+	/**
+	 * Returns a list of at most the specified {@code count} first found entities by class
+	 *
+	 * @param count maximum number of entities to find
+	 * @return a list of at most {@code count} first found entities
+	 */
+	@Override
+	public List<T> top(int count) {
+		return some(query -> query.setMaxResults(count).getResultList());
+	}
+
+	/**
+	 * Returns a list of at most the specified {@code size} entities found by class,
+	 * skipping the specified {@code offset} first entities
+	 *
+	 * @param offset number of entities to skip
+	 * @param size   maximum number of entities to find
+	 * @return a list of at most {@code size} found entities
+	 */
+	@Override
+	public List<T> page(int offset, int size) {
+		return some(query -> query.setFirstResult(offset).setMaxResults(size).getResultList());
+	}
+
+	/**
+	 * Returns {@code true} if any entity is found by class, otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first entity
+	 *
+	 * @return {@code true} if any entity is found, {@code false} otherwise
+	 */
+	@Override
+	public boolean exists() {
+		return manager.exists(entityClass);
 	}
 
 }
@@ -26,11 +26,15 @@
 package com.scalified.jpa.dsl.find;
 
 import com.scalified.jpa.function.ResultFunction;
+import com.scalified.jpa.function.UpdateFunction;
 import com.scalified.jpa.specification.Specification;
+import com.scalified.jpa.stream.StreamConfig;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
 
 /**
  * <b>DSL</b> for finding entities using {@link Specification}
@@ -64,11 +68,102 @@ public interface JpaFindBySpecificationDsl<T> {
 	 */
 	<R> R some(ResultFunction<T, R> resultFunction);
 
+	/**
+	 * Returns a stream of all found entities using {@link Specification}
+	 *
+	 * @return a stream of all found entities
+	 */
+	Stream<T> stream();
+
+	/**
+	 * Returns a stream of all found entities using {@link Specification}
+	 * and the specified {@code chunkSize}
+	 *
+	 * @param chunkSize size of a chunk
+	 *
+	 * @return a stream of all found entities
+	 */
+	Stream<T> stream(int chunkSize);
+
+	/**
+	 * Returns a stream of all found entities using {@link Specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param config stream configuration object
+	 *
+	 * @return a stream of all found entities
+	 */
+	Stream<T> stream(StreamConfig config);
+
+	/**
+	 * Returns a publisher of all found entities using {@link Specification}, which loads
+	 * chunks as subscribers request them and is configured with the specified stream {@code config}
+	 *
+	 * @param config stream configuration object
+	 * @return a publisher of all found entities
+	 */
+	Flow.Publisher<T> publisher(StreamConfig config);
+
 	/**
 	 * Returns the first found entity using {@link Specification}
 	 *
+	 * <p>
+	 * Loads at most one entity
+	 *
 	 * @return the first found entity
 	 */
 	Optional<T> first();
 
+	/**
+	 * Returns a list of at most the specified {@code count} first found entities using {@link Specification}
+	 *
+	 * @param count maximum number of entities to find
+	 * @return a list of at most {@code count} first found entities
+	 */
+	List<T> top(int count);
+
+	/**
+	 * Returns a list of at most the specified {@code size} entities found using {@link Specification},
+	 * skipping the specified {@code offset} first entities
+	 *
+	 * @param offset number of entities to skip
+	 * @param size   maximum number of entities to find
+	 * @return a list of at most {@code size} found entities
+	 */
+	List<T> page(int offset, int size);
+
+	/**
+	 * Returns {@code true} if any entity is found using {@link Specification}, otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first entity
+	 *
+	 * @return {@code true} if any entity is found, {@code false} otherwise
+	 */
+	boolean exists();
+
+	/**
+	 * Deletes entities matching {@link Specification} with a single bulk statement
+	 * without loading them
+	 *
+	 * <p>
+	 * Already managed entities are not removed from the persistence context and lifecycle
+	 * callbacks and cascades are not applied
+	 *
+	 * @return number of deleted entities
+	 */
+	int delete();
+
+	/**
+	 * Updates entities matching {@link Specification} with a single bulk statement
+	 * without loading them, setting attributes with the specified {@code updateFunction}
+	 *
+	 * <p>
+	 * Already managed entities are not refreshed and lifecycle callbacks are not applied
+	 *
+	 * @param updateFunction an {@link UpdateFunction} to set attributes
+	 * @return number of updated entities
+	 */
+	int update(UpdateFunction<T> updateFunction);
+
 }
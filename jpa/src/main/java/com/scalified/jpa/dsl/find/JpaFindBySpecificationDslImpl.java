@@ -26,14 +26,18 @@
 package com.scalified.jpa.dsl.find;
 
 import com.scalified.jpa.function.ResultFunction;
+import com.scalified.jpa.function.UpdateFunction;
 import com.scalified.jpa.manager.JpaManager;
 import com.scalified.jpa.specification.Specification;
+import com.scalified.jpa.stream.StreamConfig;
 
 import javax.persistence.TypedQuery;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
 
 /**
  * A {@link JpaFindBySpecificationDsl} implementation
@@ -97,14 +101,132 @@ public class JpaFindBySpecificationDslImpl<T> implements JpaFindBySpecificationD
 		return manager.find(specification, resultFunction);
 	}
 
+	/**
+	 * Returns a stream of all found entities using {@link Specification}
+	 *
+	 * @return a stream of all found entities
+	 */
+	@Override
+	public Stream<T> stream() {
+		return manager.stream(specification);
+	}
+
+	/**
+	 * Returns a stream of all found entities using {@link Specification}
+	 * and the specified {@code chunkSize}
+	 *
+	 * @param chunkSize size of a chunk
+	 *
+	 * @return a stream of all found entities
+	 */
+	@Override
+	public Stream<T> stream(int chunkSize) {
+		return manager.stream(specification, chunkSize);
+	}
+
+	/**
+	 * Returns a stream of all found entities using {@link Specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param config stream configuration object
+	 *
+	 * @return a stream of all found entities
+	 */
+	@Override
+	public Stream<T> stream(StreamConfig config) {
+		return manager.stream(specification, config);
+	}
+
+	/**
+	 * Returns a publisher of all found entities using {@link Specification}, which loads
+	 * chunks as subscribers request them and is configured with the specified stream {@code config}
+	 *
+	 * @param config stream configuration object
+	 * @return a publisher of all found entities
+	 */
+	@Override
+	public Flow.Publisher<T> publisher(StreamConfig config) {
+		return manager.publisher(specification, config);
+	}
+
 	/**
 	 * Returns the first found entity using {@link Specification}
 	 *
+	 * <p>
+	 * Loads at most one entity
+	 *
 	 * @return the first found entity
 	 */
 	@Override
 	public Optional<T> first() {
-		return list().stream().findFirst();
+		return some(query -> query.setMaxResults(1).getResultList()).stream().findFirst();
+	}
+
+	/**
+	 * Returns a list of at most the specified {@code count} first found entities using {@link Specification}
+	 *
+	 * @param count maximum number of entities to find
+	 * @return a list of at most {@code count} first found entities
+	 */
+	@Override
+	public List<T> top(int count) {
+		return some(query -> query.setMaxResults(count).getResultList());
+	}
+
+	/**
+	 * Returns a list of at most the specified {@code size} entities found using {@link Specification},
+	 * skipping the specified {@code offset} first entities
+	 *
+	 * @param offset number of entities to skip
+	 * @param size   maximum number of entities to find
+	 * @return a list of at most {@code size} found entities
+	 */
+	@Override
+	public List<T> page(int offset, int size) {
+		return some(query -> query.setFirstResult(offset).setMaxResults(size).getResultList());
+	}
+
+	/**
+	 * Returns {@code true} if any entity is found using {@link Specification}, otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first entity
+	 *
+	 * @return {@code true} if any entity is found, {@code false} otherwise
+	 */
+	@Override
+	public boolean exists() {
+		return manager.exists(specification.getType(), specification::toPredicate);
+	}
+
+	/**
+	 * Deletes entities matching {@link Specification} with a single bulk statement
+	 * without loading them
+	 *
+	 * <p>
+	 * Already managed entities are not removed from the persistence context and lifecycle
+	 * callbacks and cascades are not applied
+	 *
+	 * @return number of deleted entities
+	 */
+	@Override
+	public int delete() {
+		return manager.delete(specification.getType(), specification::toPredicate);
+	}
+
+	/**
+	 * Updates entities matching {@link Specification} with a single bulk statement
+	 * without loading them, setting attributes with the specified {@code updateFunction}
+	 *
+	 * <p>
+	 * Already managed entities are not refreshed and lifecycle callbacks are not applied
+	 *
+	 * @param updateFunction an {@link UpdateFunction} to set attributes
+	 * @return number of updated entities
+	 */
+	@Override
+	public int update(UpdateFunction<T> updateFunction) {
+		return manager.update(specification.getType(), specification::toPredicate, updateFunction);
 	}
 
 }
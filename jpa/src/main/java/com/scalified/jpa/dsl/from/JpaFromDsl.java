@@ -26,6 +26,10 @@
 package com.scalified.jpa.dsl.from;
 
 import com.scalified.jpa.function.ExpressionFunction;
+import com.scalified.jpa.function.UpdateFunction;
+
+import java.util.Collection;
+import java.util.concurrent.Executor;
 
 /**
  * <b>DSL</b> for working with derived methods of entity class
@@ -52,4 +56,92 @@ public interface JpaFromDsl<T> {
 	 */
 	long count(ExpressionFunction<T> function);
 
+	/**
+	 * Returns {@code true} if any entity with previously defined class exists,
+	 * otherwise returns {@code false}
+	 *
+	 * @return {@code true} if any entity with previously defined class exists,
+	 * {@code false} otherwise
+	 */
+	boolean exists();
+
+	/**
+	 * Returns {@code true} if any entity with previously defined class, filtered by
+	 * the specified expression {@code function} exists, otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Existence of entities matching a {@link com.scalified.jpa.specification.Specification}
+	 * is checked via {@link com.scalified.jpa.dsl.find.JpaFindBySpecificationDsl#exists()}
+	 *
+	 * @param function an expression {@code function} to filter entities
+	 * @return {@code true} if any filtered entity with previously defined class exists,
+	 * {@code false} otherwise
+	 */
+	boolean exists(ExpressionFunction<T> function);
+
+	/**
+	 * Deletes entities with previously defined class, filtered by the specified
+	 * expression {@code function} with a single bulk statement without loading them
+	 *
+	 * <p>
+	 * Entities matching a {@link com.scalified.jpa.specification.Specification} are deleted via
+	 * {@link com.scalified.jpa.dsl.find.JpaFindBySpecificationDsl#delete()}
+	 *
+	 * @param function an expression {@code function} to filter entities
+	 * @return number of deleted entities
+	 */
+	int delete(ExpressionFunction<T> function);
+
+	/**
+	 * Updates entities with previously defined class, filtered by the specified
+	 * expression {@code function} with a single bulk statement without loading them,
+	 * setting attributes with the specified {@code updateFunction}
+	 *
+	 * <p>
+	 * Entities matching a {@link com.scalified.jpa.specification.Specification} are updated via
+	 * {@link com.scalified.jpa.dsl.find.JpaFindBySpecificationDsl#update(UpdateFunction)}
+	 *
+	 * @param function       an expression {@code function} to filter entities
+	 * @param updateFunction an {@link UpdateFunction} to set attributes
+	 * @return number of updated entities
+	 */
+	int update(ExpressionFunction<T> function, UpdateFunction<T> updateFunction);
+
+	/**
+	 * Deletes entities with previously defined class by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most 1000 primary keys each
+	 *
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	<K> int deleteById(Collection<K> primaryKeys);
+
+	/**
+	 * Deletes entities with previously defined class by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each
+	 *
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	<K> int deleteById(Collection<K> primaryKeys, int chunkSize);
+
+	/**
+	 * Deletes entities with previously defined class by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each,
+	 * running the statements in parallel on the specified {@code executor}
+	 *
+	 * <p>
+	 * Each statement runs in its own transaction, thus the deletion is not atomic
+	 *
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param executor    an {@link Executor} to run statements on
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	<K> int deleteById(Collection<K> primaryKeys, int chunkSize, Executor executor);
+
 }
@@ -29,6 +29,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * <b>DSL</b> for executing queries
@@ -45,6 +46,13 @@ public interface JpaQueryDsl<T> {
 	 */
 	List<T> list();
 
+	/**
+	 * Returns a stream of all results produced by query execution
+	 *
+	 * @return a stream of all results
+	 */
+	Stream<T> stream();
+
 	/**
 	 * Returns a set of all results produced by query execution
 	 *
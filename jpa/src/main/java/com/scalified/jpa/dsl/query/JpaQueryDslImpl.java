@@ -28,6 +28,7 @@ package com.scalified.jpa.dsl.query;
 import com.scalified.jpa.manager.JpaManager;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * A {@link JpaQueryDsl} implementation for raw SQL queries
@@ -75,4 +76,14 @@ public class JpaQueryDslImpl<T> implements JpaQueryDsl<T> {
 		return manager.query(sql, entityClass);
 	}
 
+	/**
+	 * Returns a stream of all results produced by raw SQL query execution
+	 *
+	 * @return a stream of all results
+	 */
+	@Override
+	public Stream<T> stream() {
+		return manager.stream(sql, entityClass);
+	}
+
 }
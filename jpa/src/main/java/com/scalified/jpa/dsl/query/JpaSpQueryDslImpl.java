@@ -29,6 +29,7 @@ import com.scalified.jpa.manager.JpaManager;
 import com.scalified.jpa.sp.SpQuery;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * A {@link JpaQueryDsl} implementation for stored procedures execution
@@ -69,4 +70,19 @@ public class JpaSpQueryDslImpl<T> implements JpaQueryDsl<T> {
 		return manager.query(query);
 	}
 
+	/**
+	 * Returns a stream of all results produced by stored procedure execution
+	 *
+	 * <p>
+	 * Results are read lazily by providers supporting lazy stored procedure results,
+	 * others load them in full when the procedure is executed. The stream should be closed
+	 * to release the underlying cursor
+	 *
+	 * @return a stream of all results
+	 */
+	@Override
+	public Stream<T> stream() {
+		return manager.stream(query);
+	}
+
 }
@@ -0,0 +1,1191 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package com.scalified.jpa.manager;
+
+import com.scalified.jpa.function.CriteriaFunction;
+import com.scalified.jpa.function.ExpressionFunction;
+import com.scalified.jpa.function.ResultFunction;
+import com.scalified.jpa.function.UpdateFunction;
+import com.scalified.jpa.sp.SpQuery;
+import com.scalified.jpa.specification.Specification;
+import com.scalified.jpa.stream.StreamConfig;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A {@link JpaManager} decorator, which caches results of entity count queries
+ *
+ * <p>
+ * Cached counts expire after the configured time to live, the least recently used counts
+ * are evicted once the configured maximum number of cached counts is exceeded. Counts of
+ * an entity class are invalidated when entities of that class (or its subclasses) are inserted,
+ * updated or deleted through this manager, all counts are invalidated when raw SQL query is executed.
+ * Changes made bypassing this manager are visible only after expiration or {@link #invalidate()}
+ *
+ * <p>
+ * Counts filtered by an {@link ExpressionFunction} are cached per function instance, thus
+ * reusable functions (e.g. constants or non capturing lambdas) should be used to benefit from caching.
+ * When combined with {@link JpaTransactionalManager}, this manager should decorate it, so that
+ * counts are invalidated after the transaction is committed
+ *
+ * <p>
+ * Within {@link #unitOfWork(Supplier)} or {@link #inTransaction(Supplier)} counts are queried
+ * bypassing the cache, since they may observe uncommitted changes, and all counts are invalidated
+ * when the outermost scope ends, whether committed or rolled back
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class JpaCountCachingManager implements JpaManager {
+
+	/**
+	 * An underlying {@link JpaManager}
+	 */
+	protected final JpaManager manager;
+
+	/**
+	 * Time to live of a cached count in nanoseconds
+	 */
+	private final long ttlNanos;
+
+	/**
+	 * Cached counts in access order
+	 */
+	private final Map<CountKey, CountValue> counts;
+
+	/**
+	 * Number of invalidations, guarded by {@link #counts}
+	 */
+	private long invalidations;
+
+	/**
+	 * Nesting depth of the unit of work or transaction scope of the calling thread
+	 */
+	private final ThreadLocal<Integer> scopeDepth = ThreadLocal.withInitial(() -> 0);
+
+	/**
+	 * Creates {@link JpaCountCachingManager} instance
+	 *
+	 * @param manager an {@link JpaManager} to decorate
+	 * @param ttl     time to live of a cached count
+	 * @param maxSize maximum number of cached counts
+	 */
+	public JpaCountCachingManager(JpaManager manager, Duration ttl, int maxSize) {
+		this.manager = manager;
+		this.ttlNanos = ttl.toNanos();
+		this.counts = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CountKey, CountValue> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns an entity found by its {@code primaryKey}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param primaryKey  a primary key of a searched entity
+	 * @param <T>         type of a searched entity
+	 * @param <K>         type of a primary key of a searched entity
+	 * @return entity object
+	 */
+	@Override
+	public <T, K> T find(Class<T> entityClass, K primaryKey) {
+		return manager.find(entityClass, primaryKey);
+	}
+
+	/**
+	 * Returns the {@link List} of all generic results found by the specified
+	 * {@code entityClass}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param <T>         type of the searched entity
+	 * @return {@link List} of all generic results
+	 */
+	@Override
+	public <T> List<T> find(Class<T> entityClass) {
+		return manager.find(entityClass);
+	}
+
+	/**
+	 * Returns the generic result found by the specified {@code entityClass}
+	 * and derived from applying the specified {@code resultFunction}
+	 *
+	 * @param entityClass    a class of a searched entity
+	 * @param resultFunction a function, which maps {@link CriteriaBuilder}
+	 *                       to a generic result
+	 * @param <T>            type of an entity
+	 * @param <R>            type of the result
+	 * @return generic result object
+	 */
+	@Override
+	public <T, R> R find(Class<T> entityClass, ResultFunction<T, R> resultFunction) {
+		return manager.find(entityClass, resultFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass) {
+		return manager.stream(entityClass);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param chunkSize   size of chunk
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass, int chunkSize) {
+		return manager.stream(entityClass, chunkSize);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass, StreamConfig config) {
+		return manager.stream(entityClass, config);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code entityClass},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, keyset paging, adaptive chunk size and statistics options are applied
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(Class<T> entityClass, StreamConfig config) {
+		return manager.publisher(entityClass, config);
+	}
+
+	/**
+	 * Returns the generic result found by the specified {@code criteriaFunction} and
+	 * derived from applying the specified {@code resultFunction}
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param resultFunction   a function, which maps {@link CriteriaBuilder}
+	 *                         to a generic result
+	 * @param <T>              type of an entity
+	 * @param <R>              type of the result
+	 * @return generic result object
+	 */
+	@Override
+	public <T, R> R find(CriteriaFunction<T> criteriaFunction, ResultFunction<T, R> resultFunction) {
+		return manager.find(criteriaFunction, resultFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction}
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction) {
+		return manager.stream(criteriaFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param chunkSize        size of chunk
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction, int chunkSize) {
+		return manager.stream(criteriaFunction, chunkSize);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Keyset paging, parallel and sized streams are not supported, since they require an entity class
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param config           stream configuration object
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction, StreamConfig config) {
+		return manager.stream(criteriaFunction, config);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code criteriaFunction},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, adaptive chunk size and statistics options are applied. Keyset
+	 * paging and parallel options are not supported, since they require an entity class
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param config           stream configuration object
+	 * @param <T>              type of an entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(CriteriaFunction<T> criteriaFunction, StreamConfig config) {
+		return manager.publisher(criteriaFunction, config);
+	}
+
+	/**
+	 * Returns the generic result found by the specified {@code specification} and
+	 * derived from applying the specified {@code resultFunction}
+	 *
+	 * @param specification  a specification to find result
+	 * @param resultFunction a function, which maps {@link CriteriaBuilder}
+	 *                       to a generic result
+	 * @param <T>            type of an entity
+	 * @param <R>            type of the result
+	 * @return generic result object
+	 */
+	@Override
+	public <T, R> R find(Specification<T> specification, ResultFunction<T, R> resultFunction) {
+		return manager.find(specification, resultFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification}
+	 *
+	 * @param specification a specification to find result
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification) {
+		return manager.stream(specification);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param specification a specification to find result
+	 * @param chunkSize     size of chunk
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification, int chunkSize) {
+		return manager.stream(specification, chunkSize);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param specification a specification to find result
+	 * @param config        stream configuration object
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification, StreamConfig config) {
+		return manager.stream(specification, config);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, keyset paging, adaptive chunk size and statistics options are applied
+	 *
+	 * @param specification a specification to find result
+	 * @param config        stream configuration object
+	 * @param <T>           type of an entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(Specification<T> specification, StreamConfig config) {
+		return manager.publisher(specification, config);
+	}
+
+	/**
+	 * Returns the list of entities as a result of raw {@code sql} query execution
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param <T>         type of the result
+	 * @return the list of entities
+	 */
+	@Override
+	public <T> List<T> query(String sql, Class<T> entityClass) {
+		return manager.query(sql, entityClass);
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of raw {@code sql} query execution
+	 *
+	 * <p>
+	 * Entities are loaded chunk by chunk, thus the {@code sql} should define a stable order
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param <T>         type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(String sql, Class<T> entityClass) {
+		return manager.stream(sql, entityClass);
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of raw {@code sql} query execution,
+	 * which has the specified {@code chunkSize}
+	 *
+	 * <p>
+	 * Entities are loaded chunk by chunk, thus the {@code sql} should define a stable order
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param chunkSize   size of chunk
+	 * @param <T>         type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(String sql, Class<T> entityClass, int chunkSize) {
+		return manager.stream(sql, entityClass, chunkSize);
+	}
+
+	/**
+	 * Executes query and returns the number of entities updated or deleted
+	 *
+	 * @param sql raw SQL query
+	 * @return number of entities updated or deleted
+	 */
+	@Override
+	public int query(String sql) {
+		try {
+			return manager.query(sql);
+		} finally {
+			invalidate();
+		}
+	}
+
+	/**
+	 * Returns the list of entities as a result of stored procedure execution
+	 * built from the specified {@code spQuery}
+	 *
+	 * @param spQuery stored procedure configuration object
+	 * @param <T>     type of the result
+	 * @return the list of entities
+	 */
+	@Override
+	public <T> List<T> query(SpQuery<T> spQuery) {
+		return manager.query(spQuery);
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of stored procedure execution
+	 * built from the specified {@code spQuery}
+	 *
+	 * <p>
+	 * Results are read via {@link javax.persistence.Query#getResultStream()}, thus providers
+	 * supporting it read {@link javax.persistence.ParameterMode#REF_CURSOR} results lazily, while
+	 * others load them in full when the procedure is executed. The stream should be closed
+	 * to release the underlying cursor
+	 *
+	 * @param spQuery stored procedure configuration object
+	 * @param <T>     type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(SpQuery<T> spQuery) {
+		return manager.stream(spQuery);
+	}
+
+	/**
+	 * Returns the count of all entities with the specified {@code entityClass}
+	 *
+	 * @param entityClass a class of an entity
+	 * @param <T>         type of an entity
+	 * @return count of all entities
+	 */
+	@Override
+	public <T> long count(Class<T> entityClass) {
+		return count(new CountKey(entityClass, null), () -> manager.count(entityClass));
+	}
+
+	/**
+	 * Returns the count of entities with the specified {@code entityClass} filtered
+	 * by the specified expression {@code function}
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return count of filtered entities
+	 */
+	@Override
+	public <T> long count(Class<T> entityClass, ExpressionFunction<T> function) {
+		return count(new CountKey(entityClass, function), () -> manager.count(entityClass, function));
+	}
+
+	/**
+	 * Returns {@code true} if any entity with the specified {@code entityClass} exists,
+	 * otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first entity
+	 *
+	 * @param entityClass a class of an entity
+	 * @param <T>         type of an entity
+	 * @return {@code true} if any entity exists, {@code false} otherwise
+	 */
+	@Override
+	public <T> boolean exists(Class<T> entityClass) {
+		return manager.exists(entityClass);
+	}
+
+	/**
+	 * Returns {@code true} if any entity with the specified {@code entityClass} filtered
+	 * by the specified expression {@code function} exists, otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first matching entity
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return {@code true} if any filtered entity exists, {@code false} otherwise
+	 */
+	@Override
+	public <T> boolean exists(Class<T> entityClass, ExpressionFunction<T> function) {
+		return manager.exists(entityClass, function);
+	}
+
+	/**
+	 * Inserts an entity object
+	 *
+	 * <p>
+	 * Returns the inserted entity object
+	 *
+	 * @param entity an entity object to insert
+	 * @param <T>    type of an entity
+	 * @return inserted entity object
+	 */
+	@Override
+	public <T> T insert(T entity) {
+		try {
+			return manager.insert(entity);
+		} finally {
+			invalidate(entity);
+		}
+	}
+
+	/**
+	 * Inserts the collection of entities
+	 *
+	 * <p>
+	 * Returns the collection of inserted entities
+	 *
+	 * @param entities a collection of entities to insert
+	 * @param <T>      type of an entity
+	 * @return a collection of inserted entities
+	 */
+	@Override
+	public <T> Collection<T> insert(Collection<T> entities) {
+		try {
+			return manager.insert(entities);
+		} finally {
+			invalidate(entities);
+		}
+	}
+
+	/**
+	 * Inserts entities from the specified {@code entities} iterator in batches of
+	 * the specified {@code batchSize}
+	 *
+	 * <p>
+	 * The persistence context is flushed and cleared after each batch, thus at most one batch
+	 * of entities is managed at once and the whole input is never held in memory. Clearing
+	 * detaches all other managed entities as well. JDBC batching of the specified {@code batchSize}
+	 * is enabled for providers supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the number of inserted entities
+	 *
+	 * @param entities  an iterator of entities to insert
+	 * @param batchSize number of entities to insert per batch
+	 * @param <T>       type of an entity
+	 * @return number of inserted entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> long insert(Iterator<T> entities, int batchSize) {
+		try {
+			return manager.insert(entities, batchSize);
+		} finally {
+			invalidate();
+		}
+	}
+
+	/**
+	 * Updates the entity
+	 *
+	 * <p>
+	 * Returns the updated entity
+	 *
+	 * @param entity an entity object to update
+	 * @param <T>    type of an entity
+	 * @return updated entity object
+	 */
+	@Override
+	public <T> T update(T entity) {
+		try {
+			return manager.update(entity);
+		} finally {
+			invalidate(entity);
+		}
+	}
+
+	/**
+	 * Updates the collection of entities
+	 *
+	 * <p>
+	 * Returns the collection of updated entities
+	 *
+	 * @param entities the collection of updated entities
+	 * @param <T>      type of an entity
+	 * @return a collection of updated entities
+	 */
+	@Override
+	public <T> Collection<T> update(Collection<T> entities) {
+		try {
+			return manager.update(entities);
+		} finally {
+			invalidate(entities);
+		}
+	}
+
+	/**
+	 * Updates the collection of entities in batches of the specified {@code batchSize}
+	 *
+	 * <p>
+	 * Entities are merged batch by batch and the persistence context is flushed and cleared
+	 * after each batch, thus at most one batch of merged entities is managed at once. Clearing
+	 * detaches all other managed entities as well. JDBC batching of the specified {@code batchSize}
+	 * is enabled for providers supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the ordered list of updated entities, which are detached
+	 *
+	 * @param entities  the collection of entities to update
+	 * @param batchSize number of entities to update per batch
+	 * @param <T>       type of an entity
+	 * @return an ordered list of updated entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> List<T> update(Collection<T> entities, int batchSize) {
+		try {
+			return manager.update(entities, batchSize);
+		} finally {
+			invalidate(entities);
+		}
+	}
+
+	/**
+	 * Updates entities from the specified {@code entities} iterator in batches of
+	 * the specified {@code batchSize}
+	 *
+	 * <p>
+	 * Entities are merged batch by batch and the persistence context is flushed and cleared
+	 * after each batch, thus at most one batch of merged entities is managed at once and neither
+	 * the input nor the merged entities are held in memory. Clearing detaches all other managed
+	 * entities as well. JDBC batching of the specified {@code batchSize} is enabled for providers
+	 * supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the number of updated entities
+	 *
+	 * @param entities  an iterator of entities to update
+	 * @param batchSize number of entities to update per batch
+	 * @param <T>       type of an entity
+	 * @return number of updated entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> long update(Iterator<T> entities, int batchSize) {
+		try {
+			return manager.update(entities, batchSize);
+		} finally {
+			invalidate();
+		}
+	}
+
+	/**
+	 * Deletes the entity
+	 *
+	 * @param entity an entity object to delete
+	 * @param <T>    type of an entity
+	 */
+	@Override
+	public <T> void delete(T entity) {
+		try {
+			manager.delete(entity);
+		} finally {
+			invalidate(entity);
+		}
+	}
+
+	/**
+	 * Deletes the collection of entities
+	 *
+	 * @param entities the collection of entities to delete
+	 * @param <T>      type of an entity
+	 */
+	@Override
+	public <T> void delete(Collection<T> entities) {
+		try {
+			manager.delete(entities);
+		} finally {
+			invalidate(entities);
+		}
+	}
+
+	/**
+	 * Updates entities with the specified {@code entityClass} filtered by the specified
+	 * expression {@code function} with a single bulk statement, setting attributes with
+	 * the specified {@code updateFunction}
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not updated and
+	 * lifecycle callbacks are not invoked
+	 *
+	 * <p>
+	 * Returns the number of updated entities
+	 *
+	 * @param entityClass    a class of an entity
+	 * @param function       an {@link ExpressionFunction} to apply filter
+	 * @param updateFunction an {@link UpdateFunction} to set attributes
+	 * @param <T>            type of an entity
+	 * @return number of updated entities
+	 */
+	@Override
+	public <T> int update(Class<T> entityClass, ExpressionFunction<T> function, UpdateFunction<T> updateFunction) {
+		try {
+			return manager.update(entityClass, function, updateFunction);
+		} finally {
+			invalidateHierarchy(entityClass);
+		}
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} filtered by the specified
+	 * expression {@code function} with a single bulk statement
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T> int delete(Class<T> entityClass, ExpressionFunction<T> function) {
+		try {
+			return manager.delete(entityClass, function);
+		} finally {
+			invalidateHierarchy(entityClass);
+		}
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most 1000 primary keys each
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys) {
+		try {
+			return manager.deleteById(entityClass, primaryKeys);
+		} finally {
+			invalidateHierarchy(entityClass);
+		}
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each
+	 *
+	 * <p>
+	 * The {@code chunkSize} should be kept under the database limit of statement parameters.
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys, int chunkSize) {
+		try {
+			return manager.deleteById(entityClass, primaryKeys, chunkSize);
+		} finally {
+			invalidateHierarchy(entityClass);
+		}
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each,
+	 * running the statements in parallel on the specified {@code executor}
+	 *
+	 * <p>
+	 * Each statement runs with its own {@link EntityManager} in its own resource local transaction,
+	 * thus the deletion is not atomic: if any statement fails, the not yet started ones are cancelled,
+	 * while the already committed ones remain. Entities are not loaded, thus the already managed
+	 * entities are not removed from the persistence context
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param executor    an {@link Executor} to run statements on
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys, int chunkSize, Executor executor) {
+		try {
+			return manager.deleteById(entityClass, primaryKeys, chunkSize, executor);
+		} finally {
+			invalidateHierarchy(entityClass);
+		}
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the unit of work ends
+	 *
+	 * <p>
+	 * Single and collection insert, update and delete operations invoked within the unit of work
+	 * do not flush the persistence context each, instead it is flushed once when the unit of work
+	 * ends successfully, thus the provider is able to batch the statements. A nested unit of work
+	 * joins the outer one. Queries may still flush the pending changes according to the
+	 * {@link javax.persistence.FlushModeType} of the underlying {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param supplier a supplier to run within the unit of work
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	@Override
+	public <R> R unitOfWork(Supplier<R> supplier) {
+		return inScope(() -> manager.unitOfWork(supplier));
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the specified {@code flushThreshold} number of entities
+	 * is written or the unit of work ends
+	 *
+	 * <p>
+	 * Single and collection insert, update and delete operations invoked within the unit of work
+	 * do not flush the persistence context each, instead it is flushed once the number of written
+	 * entities since the last flush reaches the {@code flushThreshold} and once more when the
+	 * unit of work ends successfully, thus the provider is able to batch the statements, while
+	 * the number of pending changes stays bounded. A nested unit of work joins the outer one,
+	 * keeping the outer {@code flushThreshold}
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param flushThreshold number of written entities to flush after, {@code 0} means
+	 *                       flushing only when the unit of work ends
+	 * @param supplier       a supplier to run within the unit of work
+	 * @param <R>            type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	@Override
+	public <R> R unitOfWork(int flushThreshold, Supplier<R> supplier) {
+		return inScope(() -> manager.unitOfWork(flushThreshold, supplier));
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a resource local transaction, thus all entity
+	 * write operations invoked within it are committed at once
+	 *
+	 * <p>
+	 * Begins a new transaction and commits it when the {@code supplier} completes, or rolls it back
+	 * if the {@code supplier} fails. A nested transaction scope joins the already active transaction,
+	 * marking it for rollback only if the nested {@code supplier} fails, thus the outermost scope fails
+	 * to commit even if it handles the failure
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param supplier a supplier to run within the transaction
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 * @throws javax.persistence.RollbackException if the transaction is marked for rollback only
+	 *                                             or fails to commit
+	 */
+	@Override
+	public <R> R inTransaction(Supplier<R> supplier) {
+		return inScope(() -> manager.inTransaction(supplier));
+	}
+
+	/**
+	 * Refreshes the state of an entity
+	 *
+	 * @param entity an entity object to refresh the state of
+	 * @param <T>    type of an entity
+	 */
+	@Override
+	public <T> void refresh(T entity) {
+		manager.refresh(entity);
+	}
+
+	/**
+	 * Refreshes the state of each entity in the specified collection
+	 *
+	 * @param entities the collection of entities to refresh states of
+	 * @param <T>      type of an entity
+	 */
+	@Override
+	public <T> void refresh(Collection<T> entities) {
+		manager.refresh(entities);
+	}
+
+	/**
+	 * Detaches an entity from context
+	 *
+	 * @param entity an entity object to detach
+	 * @param <T>    type of an entity
+	 */
+	@Override
+	public <T> void detach(T entity) {
+		manager.detach(entity);
+	}
+
+	/**
+	 * Detaches the each entity in the specified collection from context
+	 *
+	 * @param entities the collection of entities to detach
+	 * @param <T>      type of an entity
+	 */
+	@Override
+	public <T> void detach(Collection<T> entities) {
+		manager.detach(entities);
+	}
+
+	/**
+	 * Returns the underlying {@link EntityManager}
+	 *
+	 * @return underlying {@link EntityManager} instance
+	 */
+	@Override
+	public EntityManager em() {
+		return manager.em();
+	}
+
+	/**
+	 * Returns the underlying {@link EntityManagerFactory}
+	 *
+	 * <p>
+	 * Unlike {@link #em()}, available regardless of whether an {@link EntityManager} is bound
+	 *
+	 * @return underlying {@link EntityManagerFactory} instance
+	 */
+	@Override
+	public EntityManagerFactory emf() {
+		return manager.emf();
+	}
+
+	/**
+	 * Invalidates all cached counts
+	 */
+	public void invalidate() {
+		synchronized (counts) {
+			invalidations++;
+			counts.clear();
+		}
+	}
+
+	/**
+	 * Invalidates cached counts of the specified {@code entityClass} and its superclasses
+	 *
+	 * @param entityClass a class of an entity
+	 */
+	public void invalidate(Class<?> entityClass) {
+		synchronized (counts) {
+			invalidations++;
+			counts.keySet().removeIf(key -> key.entityClass.isAssignableFrom(entityClass));
+		}
+	}
+
+	/**
+	 * Invalidates cached counts of the specified {@code entityClass}, its superclasses and subclasses
+	 *
+	 * @param entityClass a class of an entity
+	 */
+	private void invalidateHierarchy(Class<?> entityClass) {
+		synchronized (counts) {
+			invalidations++;
+			counts.keySet().removeIf(key -> key.entityClass.isAssignableFrom(entityClass)
+					|| entityClass.isAssignableFrom(key.entityClass));
+		}
+	}
+
+	/**
+	 * Returns the cached count for the specified {@code key} if not expired,
+	 * otherwise queries the count with the specified {@code loader} and caches it
+	 *
+	 * <p>
+	 * The queried count is not cached if any invalidation happened while querying it.
+	 * Within a unit of work or transaction scope the count is queried bypassing the cache
+	 *
+	 * @param key    a cache key
+	 * @param loader a supplier, which queries the count
+	 * @return cached or queried count
+	 */
+	private long count(CountKey key, LongSupplier loader) {
+		if (scopeDepth.get() > 0) {
+			return loader.getAsLong();
+		}
+		long now = System.nanoTime();
+		long expectedInvalidations;
+		synchronized (counts) {
+			CountValue value = counts.get(key);
+			if (Objects.nonNull(value) && now - value.loadedNanos < ttlNanos) {
+				return value.count;
+			}
+			expectedInvalidations = invalidations;
+		}
+		long count = loader.getAsLong();
+		synchronized (counts) {
+			if (invalidations == expectedInvalidations) {
+				counts.put(key, new CountValue(count, now));
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Runs the specified {@code supplier} as a unit of work or transaction scope of the calling
+	 * thread, invalidating all counts when the outermost scope ends
+	 *
+	 * @param supplier a supplier, which runs the scope
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	private <R> R inScope(Supplier<R> supplier) {
+		int depth = scopeDepth.get();
+		scopeDepth.set(depth + 1);
+		try {
+			return supplier.get();
+		} finally {
+			scopeDepth.set(depth);
+			if (depth == 0) {
+				invalidate();
+			}
+		}
+	}
+
+	/**
+	 * Invalidates cached counts of the specified {@code entity} class
+	 *
+	 * @param entity an entity object
+	 */
+	private void invalidate(Object entity) {
+		invalidate(entity.getClass());
+	}
+
+	/**
+	 * Invalidates cached counts of the specified {@code entities} classes
+	 *
+	 * @param entities a collection of entities
+	 */
+	private void invalidate(Collection<?> entities) {
+		entities.stream()
+				.map(Object::getClass)
+				.distinct()
+				.forEach(this::invalidate);
+	}
+
+	/**
+	 * A cache key of a count query
+	 */
+	private static final class CountKey {
+
+		/**
+		 * A class of an entity
+		 */
+		private final Class<?> entityClass;
+
+		/**
+		 * An {@link ExpressionFunction} to apply filter, {@code null} if not filtered
+		 */
+		private final ExpressionFunction<?> function;
+
+		/**
+		 * Creates {@link CountKey} instance
+		 *
+		 * @param entityClass a class of an entity
+		 * @param function    an {@link ExpressionFunction} to apply filter, {@code null} if not filtered
+		 */
+		private CountKey(Class<?> entityClass, ExpressionFunction<?> function) {
+			this.entityClass = entityClass;
+			this.function = function;
+		}
+
+		/**
+		 * Returns {@code true} if the specified object is the key of the same count query,
+		 * otherwise returns {@code false}
+		 *
+		 * @param o an object to compare with
+		 * @return {@code true} if the specified object is the key of the same count query,
+		 * {@code false} otherwise
+		 */
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof CountKey)) return false;
+			CountKey that = (CountKey) o;
+			return entityClass.equals(that.entityClass) && Objects.equals(function, that.function);
+		}
+
+		/**
+		 * Returns hash code of this key
+		 *
+		 * @return hash code of this key
+		 */
+		@Override
+		public int hashCode() {
+			return Objects.hash(entityClass, function);
+		}
+
+	}
+
+	/**
+	 * A cached count
+	 */
+	private static final class CountValue {
+
+		/**
+		 * Count of entities
+		 */
+		private final long count;
+
+		/**
+		 * Time the count was queried at in nanoseconds
+		 */
+		private final long loadedNanos;
+
+		/**
+		 * Creates {@link CountValue} instance
+		 *
+		 * @param count       count of entities
+		 * @param loadedNanos time the count was queried at in nanoseconds
+		 */
+		private CountValue(long count, long loadedNanos) {
+			this.count = count;
+			this.loadedNanos = loadedNanos;
+		}
+
+	}
+
+}
@@ -0,0 +1,1305 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.manager;
+
+import com.scalified.jpa.commons.EntityUtils;
+import com.scalified.jpa.function.CriteriaFunction;
+import com.scalified.jpa.function.ExpressionFunction;
+import com.scalified.jpa.function.ResultFunction;
+import com.scalified.jpa.function.UpdateFunction;
+import com.scalified.jpa.sp.SpQuery;
+import com.scalified.jpa.specification.Specification;
+import com.scalified.jpa.stream.StreamConfig;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.metamodel.Metamodel;
+import java.lang.reflect.Member;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link JpaManager} decorator, which commits small entity write operations of
+ * concurrent callers in groups
+ *
+ * <p>
+ * Single and collection insert, update and delete operations are queued and run on
+ * a committer thread: operations arriving within the commit window after the first one,
+ * but at most the maximum number of them, run within a single unit of work of the decorated
+ * {@link JpaManager}, which is expected to commit it in a single transaction. The calling
+ * thread waits until the shared transaction completes. If the group fails, it is split in halves,
+ * which are retried in their own units of work recursively, thus a failing operation does not
+ * fail the others. Before each retry the primary key and version attributes of the entities
+ * passed to the failed operations are restored to their values before the first attempt, so
+ * that the state assigned by the persistence provider within the rolled back transaction (e.g.
+ * a generated primary key) does not make them look detached. The state of entities reached
+ * by cascading is not restored, thus operations cascading persist to new entities should be
+ * committed alone
+ *
+ * <p>
+ * Other operations are delegated as is. Operations invoked within a unit of work on
+ * the calling thread are delegated as is as well, thus joining that unit of work
+ *
+ * <p>
+ * The decorated {@link JpaManager} must be safe for concurrent use and its unit of work
+ * must run in a transaction, for example {@link JpaPooledManager}. The committer thread
+ * is started on the first submitted operation and stopped by {@link #close()}. If the committer thread terminates unexpectedly, the queued
+ * operations are failed and this manager is closed
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class JpaGroupCommitManager implements JpaManager, AutoCloseable {
+
+	/**
+	 * An operation signalling the committer thread to stop
+	 */
+	private static final Operation<?> STOP = new Operation<>(null, List.of(), List.of());
+
+	/**
+	 * An underlying {@link JpaManager}
+	 */
+	protected final JpaManager manager;
+
+	/**
+	 * Commit window in nanoseconds
+	 */
+	private final long windowNanos;
+
+	/**
+	 * Maximum number of operations committed in a group
+	 */
+	private final int maxGroupSize;
+
+	/**
+	 * Queued operations
+	 */
+	private final BlockingQueue<Operation<?>> queue = new LinkedBlockingQueue<>();
+
+	/**
+	 * Nesting depth of the unit of work of the calling thread
+	 */
+	private final ThreadLocal<Integer> scopeDepth = ThreadLocal.withInitial(() -> 0);
+
+	/**
+	 * A committer thread, guarded by this manager
+	 */
+	private final Thread committer;
+
+	/**
+	 * Whether the committer thread is started, guarded by this manager
+	 */
+	private boolean started;
+
+	/**
+	 * Whether this manager is closed
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * Creates {@link JpaGroupCommitManager} instance
+	 *
+	 * <p>
+	 * The committer thread is started when the first operation is submitted
+	 *
+	 * @param manager      an {@link JpaManager} to decorate
+	 * @param window       time to collect operations for after the first one of a group
+	 * @param maxGroupSize maximum number of operations committed in a group
+	 * @throws IllegalArgumentException if the {@code window} is {@code null} or negative,
+	 *                                  or the {@code maxGroupSize} is not positive
+	 */
+	public JpaGroupCommitManager(JpaManager manager, Duration window, int maxGroupSize) {
+		if (Objects.isNull(window) || window.isNegative()) {
+			throw new IllegalArgumentException("Commit window must not be null or negative: " + window);
+		}
+		if (maxGroupSize <= 0) {
+			throw new IllegalArgumentException("Max group size must be positive: " + maxGroupSize);
+		}
+		this.manager = manager;
+		this.windowNanos = window.toNanos();
+		this.maxGroupSize = maxGroupSize;
+		this.committer = new Thread(this::runCommitter, "jpa-group-commit");
+		this.committer.setDaemon(true);
+	}
+
+	/**
+	 * Submits the specified <b>function</b> to be committed in a group
+	 *
+	 * <p>
+	 * Returns the future, which is completed with the result of the function when
+	 * the group transaction completes
+	 *
+	 * <p>
+	 * The function is retried as is if its group fails, thus it must not depend on
+	 * the state assigned to its entities by the failed attempt
+	 *
+	 * @param function a function to apply to the decorated {@link JpaManager}
+	 * @param <R>      type of the result
+	 * @return the future of the function result
+	 * @throws IllegalStateException if this manager is closed or its committer thread is terminated
+	 */
+	public <R> CompletableFuture<R> submit(Function<JpaManager, R> function) {
+		return submit(List.of(), function);
+	}
+
+	/**
+	 * Stops the committer thread after committing the already queued operations
+	 *
+	 * <p>
+	 * Operations submitted concurrently with closing are failed with {@link IllegalStateException}
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			if (closed) return;
+
+			closed = true;
+			if (!started) return;
+
+			queue.add(STOP);
+		}
+		try {
+			committer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		for (Operation<?> operation = queue.poll(); Objects.nonNull(operation); operation = queue.poll()) {
+			if (operation != STOP) {
+				operation.fail(new IllegalStateException("Group commit manager is closed"));
+			}
+		}
+	}
+
+	/**
+	 * Returns an entity found by its {@code primaryKey}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param primaryKey  a primary key of a searched entity
+	 * @param <T>         type of a searched entity
+	 * @param <K>         type of a primary key of a searched entity
+	 * @return entity object
+	 */
+	@Override
+	public <T, K> T find(Class<T> entityClass, K primaryKey) {
+		return manager.find(entityClass, primaryKey);
+	}
+
+	/**
+	 * Returns the {@link List} of all generic results found by the specified
+	 * {@code entityClass}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param <T>         type of the searched entity
+	 * @return {@link List} of all generic results
+	 */
+	@Override
+	public <T> List<T> find(Class<T> entityClass) {
+		return manager.find(entityClass);
+	}
+
+	/**
+	 * Returns the generic result found by the specified {@code entityClass}
+	 * and derived from applying the specified {@code resultFunction}
+	 *
+	 * @param entityClass    a class of a searched entity
+	 * @param resultFunction a function, which maps {@link CriteriaBuilder}
+	 *                       to a generic result
+	 * @param <T>            type of an entity
+	 * @param <R>            type of the result
+	 * @return generic result object
+	 */
+	@Override
+	public <T, R> R find(Class<T> entityClass, ResultFunction<T, R> resultFunction) {
+		return manager.find(entityClass, resultFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass) {
+		return manager.stream(entityClass);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param chunkSize   size of chunk
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass, int chunkSize) {
+		return manager.stream(entityClass, chunkSize);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass, StreamConfig config) {
+		return manager.stream(entityClass, config);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code entityClass},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, keyset paging, adaptive chunk size and statistics options are applied
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(Class<T> entityClass, StreamConfig config) {
+		return manager.publisher(entityClass, config);
+	}
+
+	/**
+	 * Returns the generic result found by the specified {@code criteriaFunction} and
+	 * derived from applying the specified {@code resultFunction}
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param resultFunction   a function, which maps {@link CriteriaBuilder}
+	 *                         to a generic result
+	 * @param <T>              type of an entity
+	 * @param <R>              type of the result
+	 * @return generic result object
+	 */
+	@Override
+	public <T, R> R find(CriteriaFunction<T> criteriaFunction, ResultFunction<T, R> resultFunction) {
+		return manager.find(criteriaFunction, resultFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction}
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction) {
+		return manager.stream(criteriaFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param chunkSize        size of chunk
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction, int chunkSize) {
+		return manager.stream(criteriaFunction, chunkSize);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Keyset paging, parallel and sized streams are not supported, since they require an entity class
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param config           stream configuration object
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction, StreamConfig config) {
+		return manager.stream(criteriaFunction, config);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code criteriaFunction},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, adaptive chunk size and statistics options are applied. Keyset
+	 * paging and parallel options are not supported, since they require an entity class
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param config           stream configuration object
+	 * @param <T>              type of an entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(CriteriaFunction<T> criteriaFunction, StreamConfig config) {
+		return manager.publisher(criteriaFunction, config);
+	}
+
+	/**
+	 * Returns the generic result found by the specified {@code specification} and
+	 * derived from applying the specified {@code resultFunction}
+	 *
+	 * @param specification  a specification to find result
+	 * @param resultFunction a function, which maps {@link CriteriaBuilder}
+	 *                       to a generic result
+	 * @param <T>            type of an entity
+	 * @param <R>            type of the result
+	 * @return generic result object
+	 */
+	@Override
+	public <T, R> R find(Specification<T> specification, ResultFunction<T, R> resultFunction) {
+		return manager.find(specification, resultFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification}
+	 *
+	 * @param specification a specification to find result
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification) {
+		return manager.stream(specification);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param specification a specification to find result
+	 * @param chunkSize     size of chunk
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification, int chunkSize) {
+		return manager.stream(specification, chunkSize);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param specification a specification to find result
+	 * @param config        stream configuration object
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification, StreamConfig config) {
+		return manager.stream(specification, config);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, keyset paging, adaptive chunk size and statistics options are applied
+	 *
+	 * @param specification a specification to find result
+	 * @param config        stream configuration object
+	 * @param <T>           type of an entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(Specification<T> specification, StreamConfig config) {
+		return manager.publisher(specification, config);
+	}
+
+	/**
+	 * Returns the list of entities as a result of raw {@code sql} query execution
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param <T>         type of the result
+	 * @return the list of entities
+	 */
+	@Override
+	public <T> List<T> query(String sql, Class<T> entityClass) {
+		return manager.query(sql, entityClass);
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of raw {@code sql} query execution
+	 *
+	 * <p>
+	 * Entities are loaded chunk by chunk, thus the {@code sql} should define a stable order
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param <T>         type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(String sql, Class<T> entityClass) {
+		return manager.stream(sql, entityClass);
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of raw {@code sql} query execution,
+	 * which has the specified {@code chunkSize}
+	 *
+	 * <p>
+	 * Entities are loaded chunk by chunk, thus the {@code sql} should define a stable order
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param chunkSize   size of chunk
+	 * @param <T>         type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(String sql, Class<T> entityClass, int chunkSize) {
+		return manager.stream(sql, entityClass, chunkSize);
+	}
+
+	/**
+	 * Executes query and returns the number of entities updated or deleted
+	 *
+	 * @param sql raw SQL query
+	 * @return number of entities updated or deleted
+	 */
+	@Override
+	public int query(String sql) {
+		return manager.query(sql);
+	}
+
+	/**
+	 * Returns the list of entities as a result of stored procedure execution
+	 * built from the specified {@code spQuery}
+	 *
+	 * @param spQuery stored procedure configuration object
+	 * @param <T>     type of the result
+	 * @return the list of entities
+	 */
+	@Override
+	public <T> List<T> query(SpQuery<T> spQuery) {
+		return manager.query(spQuery);
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of stored procedure execution
+	 * built from the specified {@code spQuery}
+	 *
+	 * <p>
+	 * Results are read via {@link javax.persistence.Query#getResultStream()}, thus providers
+	 * supporting it read {@link javax.persistence.ParameterMode#REF_CURSOR} results lazily, while
+	 * others load them in full when the procedure is executed. The stream should be closed
+	 * to release the underlying cursor
+	 *
+	 * @param spQuery stored procedure configuration object
+	 * @param <T>     type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(SpQuery<T> spQuery) {
+		return manager.stream(spQuery);
+	}
+
+	/**
+	 * Returns the count of all entities with the specified {@code entityClass}
+	 *
+	 * @param entityClass a class of an entity
+	 * @param <T>         type of an entity
+	 * @return count of all entities
+	 */
+	@Override
+	public <T> long count(Class<T> entityClass) {
+		return manager.count(entityClass);
+	}
+
+	/**
+	 * Returns the count of entities with the specified {@code entityClass} filtered
+	 * by the specified expression {@code function}
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return count of filtered entities
+	 */
+	@Override
+	public <T> long count(Class<T> entityClass, ExpressionFunction<T> function) {
+		return manager.count(entityClass, function);
+	}
+
+	/**
+	 * Returns {@code true} if any entity with the specified {@code entityClass} exists,
+	 * otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first entity
+	 *
+	 * @param entityClass a class of an entity
+	 * @param <T>         type of an entity
+	 * @return {@code true} if any entity exists, {@code false} otherwise
+	 */
+	@Override
+	public <T> boolean exists(Class<T> entityClass) {
+		return manager.exists(entityClass);
+	}
+
+	/**
+	 * Returns {@code true} if any entity with the specified {@code entityClass} filtered
+	 * by the specified expression {@code function} exists, otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first matching entity
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return {@code true} if any filtered entity exists, {@code false} otherwise
+	 */
+	@Override
+	public <T> boolean exists(Class<T> entityClass, ExpressionFunction<T> function) {
+		return manager.exists(entityClass, function);
+	}
+
+	/**
+	 * Inserts an entity object
+	 *
+	 * <p>
+	 * Returns the inserted entity object
+	 *
+	 * @param entity an entity object to insert
+	 * @param <T>    type of an entity
+	 * @return inserted entity object
+	 */
+	@Override
+	public <T> T insert(T entity) {
+		return group(List.of(entity), manager -> manager.insert(entity));
+	}
+
+	/**
+	 * Inserts the collection of entities
+	 *
+	 * <p>
+	 * Returns the collection of inserted entities
+	 *
+	 * @param entities a collection of entities to insert
+	 * @param <T>      type of an entity
+	 * @return a collection of inserted entities
+	 */
+	@Override
+	public <T> Collection<T> insert(Collection<T> entities) {
+		return group(entities, manager -> manager.insert(entities));
+	}
+
+	/**
+	 * Inserts entities from the specified {@code entities} iterator in batches of
+	 * the specified {@code batchSize}
+	 *
+	 * <p>
+	 * The persistence context is flushed and cleared after each batch, thus at most one batch
+	 * of entities is managed at once and the whole input is never held in memory. Clearing
+	 * detaches all other managed entities as well. JDBC batching of the specified {@code batchSize}
+	 * is enabled for providers supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the number of inserted entities
+	 *
+	 * @param entities  an iterator of entities to insert
+	 * @param batchSize number of entities to insert per batch
+	 * @param <T>       type of an entity
+	 * @return number of inserted entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> long insert(Iterator<T> entities, int batchSize) {
+		return manager.insert(entities, batchSize);
+	}
+
+	/**
+	 * Updates the entity
+	 *
+	 * <p>
+	 * Returns the updated entity
+	 *
+	 * @param entity an entity object to update
+	 * @param <T>    type of an entity
+	 * @return updated entity object
+	 */
+	@Override
+	public <T> T update(T entity) {
+		return group(List.of(entity), manager -> manager.update(entity));
+	}
+
+	/**
+	 * Updates the collection of entities
+	 *
+	 * <p>
+	 * Returns the collection of updated entities
+	 *
+	 * @param entities the collection of updated entities
+	 * @param <T>      type of an entity
+	 * @return a collection of updated entities
+	 */
+	@Override
+	public <T> Collection<T> update(Collection<T> entities) {
+		return group(entities, manager -> manager.update(entities));
+	}
+
+	/**
+	 * Updates the collection of entities in batches of the specified {@code batchSize}
+	 *
+	 * <p>
+	 * Entities are merged batch by batch and the persistence context is flushed and cleared
+	 * after each batch, thus at most one batch of merged entities is managed at once. Clearing
+	 * detaches all other managed entities as well. JDBC batching of the specified {@code batchSize}
+	 * is enabled for providers supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the ordered list of updated entities, which are detached
+	 *
+	 * @param entities  the collection of entities to update
+	 * @param batchSize number of entities to update per batch
+	 * @param <T>       type of an entity
+	 * @return an ordered list of updated entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> List<T> update(Collection<T> entities, int batchSize) {
+		return manager.update(entities, batchSize);
+	}
+
+	/**
+	 * Updates entities from the specified {@code entities} iterator in batches of
+	 * the specified {@code batchSize}
+	 *
+	 * <p>
+	 * Entities are merged batch by batch and the persistence context is flushed and cleared
+	 * after each batch, thus at most one batch of merged entities is managed at once and neither
+	 * the input nor the merged entities are held in memory. Clearing detaches all other managed
+	 * entities as well. JDBC batching of the specified {@code batchSize} is enabled for providers
+	 * supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the number of updated entities
+	 *
+	 * @param entities  an iterator of entities to update
+	 * @param batchSize number of entities to update per batch
+	 * @param <T>       type of an entity
+	 * @return number of updated entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> long update(Iterator<T> entities, int batchSize) {
+		return manager.update(entities, batchSize);
+	}
+
+	/**
+	 * Deletes the entity
+	 *
+	 * @param entity an entity object to delete
+	 * @param <T>    type of an entity
+	 */
+	@Override
+	public <T> void delete(T entity) {
+		group(List.of(entity), manager -> {
+			manager.delete(entity);
+			return null;
+		});
+	}
+
+	/**
+	 * Deletes the collection of entities
+	 *
+	 * @param entities the collection of entities to delete
+	 * @param <T>      type of an entity
+	 */
+	@Override
+	public <T> void delete(Collection<T> entities) {
+		group(entities, manager -> {
+			manager.delete(entities);
+			return null;
+		});
+	}
+
+	/**
+	 * Updates entities with the specified {@code entityClass} filtered by the specified
+	 * expression {@code function} with a single bulk statement, setting attributes with
+	 * the specified {@code updateFunction}
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not updated and
+	 * lifecycle callbacks are not invoked
+	 *
+	 * <p>
+	 * Returns the number of updated entities
+	 *
+	 * @param entityClass    a class of an entity
+	 * @param function       an {@link ExpressionFunction} to apply filter
+	 * @param updateFunction an {@link UpdateFunction} to set attributes
+	 * @param <T>            type of an entity
+	 * @return number of updated entities
+	 */
+	@Override
+	public <T> int update(Class<T> entityClass, ExpressionFunction<T> function, UpdateFunction<T> updateFunction) {
+		return manager.update(entityClass, function, updateFunction);
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} filtered by the specified
+	 * expression {@code function} with a single bulk statement
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T> int delete(Class<T> entityClass, ExpressionFunction<T> function) {
+		return manager.delete(entityClass, function);
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most 1000 primary keys each
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys) {
+		return manager.deleteById(entityClass, primaryKeys);
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each
+	 *
+	 * <p>
+	 * The {@code chunkSize} should be kept under the database limit of statement parameters.
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys, int chunkSize) {
+		return manager.deleteById(entityClass, primaryKeys, chunkSize);
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each,
+	 * running the statements in parallel on the specified {@code executor}
+	 *
+	 * <p>
+	 * Each statement runs with its own {@link EntityManager} in its own resource local transaction,
+	 * thus the deletion is not atomic: if any statement fails, the not yet started ones are cancelled,
+	 * while the already committed ones remain. Entities are not loaded, thus the already managed
+	 * entities are not removed from the persistence context
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param executor    an {@link Executor} to run statements on
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys, int chunkSize, Executor executor) {
+		return manager.deleteById(entityClass, primaryKeys, chunkSize, executor);
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the unit of work ends
+	 *
+	 * <p>
+	 * Single and collection insert, update and delete operations invoked within the unit of work
+	 * do not flush the persistence context each, instead it is flushed once when the unit of work
+	 * ends successfully, thus the provider is able to batch the statements. A nested unit of work
+	 * joins the outer one. Queries may still flush the pending changes according to the
+	 * {@link javax.persistence.FlushModeType} of the underlying {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param supplier a supplier to run within the unit of work
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	@Override
+	public <R> R unitOfWork(Supplier<R> supplier) {
+		scopeDepth.set(scopeDepth.get() + 1);
+		try {
+			return manager.unitOfWork(supplier);
+		} finally {
+			scopeDepth.set(scopeDepth.get() - 1);
+		}
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the specified {@code flushThreshold} number of entities
+	 * is written or the unit of work ends
+	 *
+	 * <p>
+	 * Single and collection insert, update and delete operations invoked within the unit of work
+	 * do not flush the persistence context each, instead it is flushed once the number of written
+	 * entities since the last flush reaches the {@code flushThreshold} and once more when the
+	 * unit of work ends successfully, thus the provider is able to batch the statements, while
+	 * the number of pending changes stays bounded. A nested unit of work joins the outer one,
+	 * keeping the outer {@code flushThreshold}
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param flushThreshold number of written entities to flush after, {@code 0} means
+	 *                       flushing only when the unit of work ends
+	 * @param supplier       a supplier to run within the unit of work
+	 * @param <R>            type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	@Override
+	public <R> R unitOfWork(int flushThreshold, Supplier<R> supplier) {
+		scopeDepth.set(scopeDepth.get() + 1);
+		try {
+			return manager.unitOfWork(flushThreshold, supplier);
+		} finally {
+			scopeDepth.set(scopeDepth.get() - 1);
+		}
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a resource local transaction, thus all entity
+	 * write operations invoked within it are committed at once
+	 *
+	 * <p>
+	 * Begins a new transaction and commits it when the {@code supplier} completes, or rolls it back
+	 * if the {@code supplier} fails. A nested transaction scope joins the already active transaction,
+	 * marking it for rollback only if the nested {@code supplier} fails, thus the outermost scope fails
+	 * to commit even if it handles the failure
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param supplier a supplier to run within the transaction
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 * @throws javax.persistence.RollbackException if the transaction is marked for rollback only
+	 *                                             or fails to commit
+	 */
+	@Override
+	public <R> R inTransaction(Supplier<R> supplier) {
+		scopeDepth.set(scopeDepth.get() + 1);
+		try {
+			return manager.inTransaction(supplier);
+		} finally {
+			scopeDepth.set(scopeDepth.get() - 1);
+		}
+	}
+
+	/**
+	 * Refreshes the state of an entity
+	 *
+	 * @param entity an entity object to refresh the state of
+	 * @param <T>    type of an entity
+	 */
+	@Override
+	public <T> void refresh(T entity) {
+		manager.refresh(entity);
+	}
+
+	/**
+	 * Refreshes the state of each entity in the specified collection
+	 *
+	 * @param entities the collection of entities to refresh states of
+	 * @param <T>      type of an entity
+	 */
+	@Override
+	public <T> void refresh(Collection<T> entities) {
+		manager.refresh(entities);
+	}
+
+	/**
+	 * Detaches an entity from context
+	 *
+	 * @param entity an entity object to detach
+	 * @param <T>    type of an entity
+	 */
+	@Override
+	public <T> void detach(T entity) {
+		manager.detach(entity);
+	}
+
+	/**
+	 * Detaches the each entity in the specified collection from context
+	 *
+	 * @param entities the collection of entities to detach
+	 * @param <T>      type of an entity
+	 */
+	@Override
+	public <T> void detach(Collection<T> entities) {
+		manager.detach(entities);
+	}
+
+	/**
+	 * Returns the underlying {@link EntityManager}
+	 *
+	 * @return underlying {@link EntityManager} instance
+	 */
+	@Override
+	public EntityManager em() {
+		return manager.em();
+	}
+
+	/**
+	 * Returns the underlying {@link EntityManagerFactory}
+	 *
+	 * <p>
+	 * Unlike {@link #em()}, available regardless of whether an {@link EntityManager} is bound
+	 *
+	 * @return underlying {@link EntityManagerFactory} instance
+	 */
+	@Override
+	public EntityManagerFactory emf() {
+		return manager.emf();
+	}
+
+	/**
+	 * Submits the specified <b>function</b> operating on the specified {@code entities}
+	 * to be committed in a group
+	 *
+	 * <p>
+	 * The primary key and version attributes of the {@code entities} are captured before
+	 * submitting, so that they are restored if the group fails
+	 *
+	 * @param entities entities passed to the function
+	 * @param function a function to apply to the decorated {@link JpaManager}
+	 * @param <R>      type of the result
+	 * @return the future of the function result
+	 * @throws IllegalStateException if this manager is closed or its committer thread is terminated
+	 */
+	private <R> CompletableFuture<R> submit(Collection<?> entities, Function<JpaManager, R> function) {
+		start();
+		Metamodel metamodel = entities.isEmpty() ? null : manager.emf().getMetamodel();
+		List<Object> snapshotEntities = new ArrayList<>(entities);
+		List<Map<Member, Object>> states = snapshotEntities.stream()
+				.map(entity -> EntityUtils.getIdentityState(metamodel, entity))
+				.collect(Collectors.toList());
+		Operation<R> operation = new Operation<>(function, snapshotEntities, states);
+		queue.add(operation);
+		if (closed && queue.remove(operation)) {
+			operation.fail(new IllegalStateException("Group commit manager is closed"));
+		}
+		return operation.future;
+	}
+
+	/**
+	 * Applies the specified <b>function</b> operating on the specified {@code entities}
+	 * in a commit group and waits for the result, or applies it directly within a unit of work
+	 * of the calling thread
+	 *
+	 * @param entities entities passed to the function
+	 * @param function a function to apply to the decorated {@link JpaManager}
+	 * @param <R>      type of the result
+	 * @return the result of the function
+	 */
+	private <R> R group(Collection<?> entities, Function<JpaManager, R> function) {
+		if (scopeDepth.get() > 0) {
+			return function.apply(manager);
+		}
+		try {
+			return submit(entities, function).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new PersistenceException("Failed to commit entity write operation", e.getCause());
+		}
+	}
+
+	/**
+	 * Starts the committer thread if not started yet
+	 *
+	 * @throws IllegalStateException if this manager is closed or its committer thread is terminated
+	 */
+	private synchronized void start() {
+		if (closed || started && !committer.isAlive()) {
+			throw new IllegalStateException("Group commit manager is closed");
+		}
+		if (!started) {
+			committer.start();
+			started = true;
+		}
+	}
+
+	/**
+	 * Runs the committer thread, closing this manager and failing the queued operations
+	 * once it terminates
+	 */
+	private void runCommitter() {
+		try {
+			commitGroups();
+		} finally {
+			closed = true;
+			for (Operation<?> operation = queue.poll(); Objects.nonNull(operation); operation = queue.poll()) {
+				if (operation != STOP) {
+					operation.fail(new IllegalStateException("Group commit manager is closed"));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects and commits groups of operations until stopped
+	 */
+	private void commitGroups() {
+		boolean stopped = false;
+		while (!stopped) {
+			List<Operation<?>> group = new ArrayList<>();
+			try {
+				Operation<?> operation = queue.take();
+				long deadline = System.nanoTime() + windowNanos;
+				while (operation != STOP) {
+					group.add(operation);
+					if (group.size() >= maxGroupSize) break;
+
+					operation = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+					if (Objects.isNull(operation)) break;
+				}
+				stopped = operation == STOP;
+			} catch (InterruptedException e) {
+				stopped = true;
+			}
+			if (!group.isEmpty()) {
+				commit(group);
+			}
+		}
+		for (Operation<?> operation = queue.poll(); Objects.nonNull(operation); operation = queue.poll()) {
+			if (operation != STOP) {
+				commit(List.of(operation));
+			}
+		}
+	}
+
+	/**
+	 * Commits the specified {@code group} of operations in a single unit of work
+	 *
+	 * <p>
+	 * If the group fails, the entity state of its operations is restored and its halves
+	 * are committed recursively, a single failed operation is failed with the failure.
+	 * Errors are not retried, failing all operations of the group
+	 *
+	 * @param group a group of operations to commit
+	 */
+	private void commit(List<Operation<?>> group) {
+		try {
+			manager.unitOfWork(() -> {
+				group.forEach(operation -> operation.apply(manager));
+				return null;
+			});
+			group.forEach(Operation::complete);
+		} catch (RuntimeException e) {
+			if (!restore(group, e)) return;
+
+			if (group.size() == 1) {
+				group.get(0).fail(e);
+				return;
+			}
+			int middle = group.size() / 2;
+			commit(group.subList(0, middle));
+			commit(group.subList(middle, group.size()));
+		} catch (Throwable e) {
+			restore(group, e);
+			group.forEach(operation -> operation.fail(e));
+		}
+	}
+
+	/**
+	 * Restores the entity state of the specified {@code group} of operations, failing all of
+	 * them with the specified {@code failure} if the state can not be restored
+	 *
+	 * @param group   a group of operations to restore the entity state of
+	 * @param failure a failure of the group
+	 * @return {@code true} if the entity state is restored, otherwise {@code false}
+	 */
+	private boolean restore(List<Operation<?>> group, Throwable failure) {
+		try {
+			group.forEach(Operation::restore);
+			return true;
+		} catch (Throwable e) {
+			failure.addSuppressed(e);
+			group.forEach(operation -> operation.fail(failure));
+			return false;
+		}
+	}
+
+	/**
+	 * A queued entity write operation
+	 *
+	 * @param <R> type of the result
+	 */
+	private static class Operation<R> {
+
+		/**
+		 * A function to apply to the decorated {@link JpaManager}
+		 */
+		private final Function<JpaManager, R> function;
+
+		/**
+		 * A future of the function result
+		 */
+		private final CompletableFuture<R> future = new CompletableFuture<>();
+
+		/**
+		 * Entities passed to the function
+		 */
+		private final List<Object> entities;
+
+		/**
+		 * The primary key and version attributes of the entities before the first function application
+		 */
+		private final List<Map<Member, Object>> states;
+
+		/**
+		 * The result of the last function application
+		 */
+		private R result;
+
+		/**
+		 * Creates {@link Operation} instance
+		 *
+		 * @param function a function to apply to the decorated {@link JpaManager}
+		 * @param entities entities passed to the function
+		 * @param states   the primary key and version attributes of the entities
+		 */
+		private Operation(Function<JpaManager, R> function, List<Object> entities, List<Map<Member, Object>> states) {
+			this.function = function;
+			this.entities = entities;
+			this.states = states;
+		}
+
+		/**
+		 * Applies the function to the specified {@code manager}, keeping the result
+		 *
+		 * @param manager a {@link JpaManager} to apply the function to
+		 */
+		private void apply(JpaManager manager) {
+			result = function.apply(manager);
+		}
+
+		/**
+		 * Completes the future with the result of the last function application
+		 */
+		private void complete() {
+			future.complete(result);
+		}
+
+		/**
+		 * Completes the future exceptionally with the specified {@code failure}
+		 *
+		 * @param failure a failure of the operation
+		 */
+		private void fail(Throwable failure) {
+			future.completeExceptionally(failure);
+		}
+
+		/**
+		 * Restores the primary key and version attributes of the entities to their values
+		 * before the first function application
+		 */
+		private void restore() {
+			for (int i = 0; i < entities.size(); i++) {
+				EntityUtils.setIdentityState(entities.get(i), states.get(i));
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,1054 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.manager;
+
+import com.scalified.jpa.function.CriteriaFunction;
+import com.scalified.jpa.function.ExpressionFunction;
+import com.scalified.jpa.function.ResultFunction;
+import com.scalified.jpa.function.UpdateFunction;
+import com.scalified.jpa.sp.SpQuery;
+import com.scalified.jpa.specification.Specification;
+import com.scalified.jpa.stream.StreamConfig;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.LockTimeoutException;
+import javax.persistence.PersistenceException;
+import javax.persistence.criteria.CriteriaBuilder;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A {@link JpaManager} decorator, which adds synchronization support
+ * for entity write operations based on {@link ReentrantLock}
+ *
+ * <p>
+ * Serializes the same write operations as {@link JpaSynchronizedManager}, however threads
+ * waiting for or holding the lock do not block on a java monitor, thus virtual threads
+ * are not pinned to their carrier threads while blocked on I/O within the lock. The lock
+ * may be fair, granting it in the order of requests, and may have the acquisition timeout,
+ * after which {@link LockTimeoutException} is thrown. Lock wait metrics are collected
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class JpaLockingManager implements JpaManager {
+
+	/**
+	 * An underlying {@link JpaManager}
+	 */
+	protected final JpaManager manager;
+
+	/**
+	 * A lock guarding entity write operations
+	 */
+	private final ReentrantLock lock;
+
+	/**
+	 * Lock acquisition timeout in nanoseconds, a negative value means waiting indefinitely
+	 */
+	private final long timeoutNanos;
+
+	/**
+	 * Number of lock acquisitions
+	 */
+	private final LongAdder acquisitions = new LongAdder();
+
+	/**
+	 * Number of lock acquisition timeouts
+	 */
+	private final LongAdder timeouts = new LongAdder();
+
+	/**
+	 * Total lock wait time in nanoseconds
+	 */
+	private final LongAdder waitNanos = new LongAdder();
+
+	/**
+	 * Maximum lock wait time in nanoseconds
+	 */
+	private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Creates {@link JpaLockingManager} instance with an unfair lock, which is waited for indefinitely
+	 *
+	 * @param manager an {@link JpaManager} to decorate
+	 */
+	public JpaLockingManager(JpaManager manager) {
+		this(manager, false, null);
+	}
+
+	/**
+	 * Creates {@link JpaLockingManager} instance with a lock, which is waited for indefinitely
+	 *
+	 * @param manager an {@link JpaManager} to decorate
+	 * @param fair    whether the lock is granted in the order of requests
+	 */
+	public JpaLockingManager(JpaManager manager, boolean fair) {
+		this(manager, fair, null);
+	}
+
+	/**
+	 * Creates {@link JpaLockingManager} instance
+	 *
+	 * @param manager an {@link JpaManager} to decorate
+	 * @param fair    whether the lock is granted in the order of requests
+	 * @param timeout lock acquisition timeout, {@code null} means waiting indefinitely
+	 */
+	public JpaLockingManager(JpaManager manager, boolean fair, Duration timeout) {
+		this.manager = manager;
+		this.lock = new ReentrantLock(fair);
+		this.timeoutNanos = Objects.nonNull(timeout) ? timeout.toNanos() : -1;
+	}
+
+	/**
+	 * Returns the number of lock acquisitions
+	 *
+	 * @return the number of lock acquisitions
+	 */
+	public long getAcquisitionCount() {
+		return acquisitions.sum();
+	}
+
+	/**
+	 * Returns the number of lock acquisition timeouts
+	 *
+	 * @return the number of lock acquisition timeouts
+	 */
+	public long getTimeoutCount() {
+		return timeouts.sum();
+	}
+
+	/**
+	 * Returns the total time spent waiting for the lock, including timed out waits
+	 *
+	 * @return the total lock wait time
+	 */
+	public Duration getTotalWaitTime() {
+		return Duration.ofNanos(waitNanos.sum());
+	}
+
+	/**
+	 * Returns the maximum time spent waiting for the lock
+	 *
+	 * @return the maximum lock wait time
+	 */
+	public Duration getMaxWaitTime() {
+		return Duration.ofNanos(maxWaitNanos.get());
+	}
+
+	/**
+	 * Returns an estimate of the number of threads currently waiting for the lock
+	 *
+	 * @return an estimate of the number of threads waiting for the lock
+	 */
+	public int getQueueLength() {
+		return lock.getQueueLength();
+	}
+
+	/**
+	 * Returns an entity found by its {@code primaryKey}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param primaryKey  a primary key of a searched entity
+	 * @param <T>         type of a searched entity
+	 * @param <K>         type of a primary key of a searched entity
+	 * @return entity object
+	 */
+	@Override
+	public <T, K> T find(Class<T> entityClass, K primaryKey) {
+		return manager.find(entityClass, primaryKey);
+	}
+
+	/**
+	 * Returns the {@link List} of all generic results found by the specified
+	 * {@code entityClass}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param <T>         type of the searched entity
+	 * @return {@link List} of all generic results
+	 */
+	@Override
+	public <T> List<T> find(Class<T> entityClass) {
+		return manager.find(entityClass);
+	}
+
+	/**
+	 * Returns the generic result found by the specified {@code entityClass}
+	 * and derived from applying the specified {@code resultFunction}
+	 *
+	 * @param entityClass    a class of a searched entity
+	 * @param resultFunction a function, which maps {@link CriteriaBuilder}
+	 *                       to a generic result
+	 * @param <T>            type of an entity
+	 * @param <R>            type of the result
+	 * @return generic result object
+	 */
+	@Override
+	public <T, R> R find(Class<T> entityClass, ResultFunction<T, R> resultFunction) {
+		return manager.find(entityClass, resultFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass) {
+		return manager.stream(entityClass);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param chunkSize   size of chunk
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass, int chunkSize) {
+		return manager.stream(entityClass, chunkSize);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass, StreamConfig config) {
+		return manager.stream(entityClass, config);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code entityClass},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, keyset paging, adaptive chunk size and statistics options are applied
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(Class<T> entityClass, StreamConfig config) {
+		return manager.publisher(entityClass, config);
+	}
+
+	/**
+	 * Returns the generic result found by the specified {@code criteriaFunction} and
+	 * derived from applying the specified {@code resultFunction}
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param resultFunction   a function, which maps {@link CriteriaBuilder}
+	 *                         to a generic result
+	 * @param <T>              type of an entity
+	 * @param <R>              type of the result
+	 * @return generic result object
+	 */
+	@Override
+	public <T, R> R find(CriteriaFunction<T> criteriaFunction, ResultFunction<T, R> resultFunction) {
+		return manager.find(criteriaFunction, resultFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction}
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction) {
+		return manager.stream(criteriaFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param chunkSize        size of chunk
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction, int chunkSize) {
+		return manager.stream(criteriaFunction, chunkSize);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Keyset paging, parallel and sized streams are not supported, since they require an entity class
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param config           stream configuration object
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction, StreamConfig config) {
+		return manager.stream(criteriaFunction, config);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code criteriaFunction},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, adaptive chunk size and statistics options are applied. Keyset
+	 * paging and parallel options are not supported, since they require an entity class
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param config           stream configuration object
+	 * @param <T>              type of an entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(CriteriaFunction<T> criteriaFunction, StreamConfig config) {
+		return manager.publisher(criteriaFunction, config);
+	}
+
+	/**
+	 * Returns the generic result found by the specified {@code specification} and
+	 * derived from applying the specified {@code resultFunction}
+	 *
+	 * @param specification  a specification to find result
+	 * @param resultFunction a function, which maps {@link CriteriaBuilder}
+	 *                       to a generic result
+	 * @param <T>            type of an entity
+	 * @param <R>            type of the result
+	 * @return generic result object
+	 */
+	@Override
+	public <T, R> R find(Specification<T> specification, ResultFunction<T, R> resultFunction) {
+		return manager.find(specification, resultFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification}
+	 *
+	 * @param specification a specification to find result
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification) {
+		return manager.stream(specification);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param specification a specification to find result
+	 * @param chunkSize     size of chunk
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification, int chunkSize) {
+		return manager.stream(specification, chunkSize);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param specification a specification to find result
+	 * @param config        stream configuration object
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification, StreamConfig config) {
+		return manager.stream(specification, config);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, keyset paging, adaptive chunk size and statistics options are applied
+	 *
+	 * @param specification a specification to find result
+	 * @param config        stream configuration object
+	 * @param <T>           type of an entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(Specification<T> specification, StreamConfig config) {
+		return manager.publisher(specification, config);
+	}
+
+	/**
+	 * Returns the list of entities as a result of raw {@code sql} query execution
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param <T>         type of the result
+	 * @return the list of entities
+	 */
+	@Override
+	public <T> List<T> query(String sql, Class<T> entityClass) {
+		return manager.query(sql, entityClass);
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of raw {@code sql} query execution
+	 *
+	 * <p>
+	 * Entities are loaded chunk by chunk, thus the {@code sql} should define a stable order
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param <T>         type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(String sql, Class<T> entityClass) {
+		return manager.stream(sql, entityClass);
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of raw {@code sql} query execution,
+	 * which has the specified {@code chunkSize}
+	 *
+	 * <p>
+	 * Entities are loaded chunk by chunk, thus the {@code sql} should define a stable order
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param chunkSize   size of chunk
+	 * @param <T>         type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(String sql, Class<T> entityClass, int chunkSize) {
+		return manager.stream(sql, entityClass, chunkSize);
+	}
+
+	/**
+	 * Executes query and returns the number of entities updated or deleted
+	 *
+	 * @param sql raw SQL query
+	 * @return number of entities updated or deleted
+	 */
+	@Override
+	public int query(String sql) {
+		return withLock(() -> manager.query(sql));
+	}
+
+	/**
+	 * Returns the list of entities as a result of stored procedure execution
+	 * built from the specified {@code spQuery}
+	 *
+	 * @param spQuery stored procedure configuration object
+	 * @param <T>     type of the result
+	 * @return the list of entities
+	 */
+	@Override
+	public <T> List<T> query(SpQuery<T> spQuery) {
+		return manager.query(spQuery);
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of stored procedure execution
+	 * built from the specified {@code spQuery}
+	 *
+	 * <p>
+	 * Results are read via {@link javax.persistence.Query#getResultStream()}, thus providers
+	 * supporting it read {@link javax.persistence.ParameterMode#REF_CURSOR} results lazily, while
+	 * others load them in full when the procedure is executed. The stream should be closed
+	 * to release the underlying cursor
+	 *
+	 * @param spQuery stored procedure configuration object
+	 * @param <T>     type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(SpQuery<T> spQuery) {
+		return manager.stream(spQuery);
+	}
+
+	/**
+	 * Returns the count of all entities with the specified {@code entityClass}
+	 *
+	 * @param entityClass a class of an entity
+	 * @param <T>         type of an entity
+	 * @return count of all entities
+	 */
+	@Override
+	public <T> long count(Class<T> entityClass) {
+		return manager.count(entityClass);
+	}
+
+	/**
+	 * Returns the count of entities with the specified {@code entityClass} filtered
+	 * by the specified expression {@code function}
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return count of filtered entities
+	 */
+	@Override
+	public <T> long count(Class<T> entityClass, ExpressionFunction<T> function) {
+		return manager.count(entityClass, function);
+	}
+
+	/**
+	 * Returns {@code true} if any entity with the specified {@code entityClass} exists,
+	 * otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first entity
+	 *
+	 * @param entityClass a class of an entity
+	 * @param <T>         type of an entity
+	 * @return {@code true} if any entity exists, {@code false} otherwise
+	 */
+	@Override
+	public <T> boolean exists(Class<T> entityClass) {
+		return manager.exists(entityClass);
+	}
+
+	/**
+	 * Returns {@code true} if any entity with the specified {@code entityClass} filtered
+	 * by the specified expression {@code function} exists, otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first matching entity
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return {@code true} if any filtered entity exists, {@code false} otherwise
+	 */
+	@Override
+	public <T> boolean exists(Class<T> entityClass, ExpressionFunction<T> function) {
+		return manager.exists(entityClass, function);
+	}
+
+	/**
+	 * Inserts an entity object
+	 *
+	 * <p>
+	 * Returns the inserted entity object
+	 *
+	 * @param entity an entity object to insert
+	 * @param <T>    type of an entity
+	 * @return inserted entity object
+	 */
+	@Override
+	public <T> T insert(T entity) {
+		return withLock(() -> manager.insert(entity));
+	}
+
+	/**
+	 * Inserts the collection of entities
+	 *
+	 * <p>
+	 * Returns the collection of inserted entities
+	 *
+	 * @param entities a collection of entities to insert
+	 * @param <T>      type of an entity
+	 * @return a collection of inserted entities
+	 */
+	@Override
+	public <T> Collection<T> insert(Collection<T> entities) {
+		return withLock(() -> manager.insert(entities));
+	}
+
+	/**
+	 * Inserts entities from the specified {@code entities} iterator in batches of
+	 * the specified {@code batchSize}
+	 *
+	 * <p>
+	 * The persistence context is flushed and cleared after each batch, thus at most one batch
+	 * of entities is managed at once and the whole input is never held in memory. Clearing
+	 * detaches all other managed entities as well. JDBC batching of the specified {@code batchSize}
+	 * is enabled for providers supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the number of inserted entities
+	 *
+	 * @param entities  an iterator of entities to insert
+	 * @param batchSize number of entities to insert per batch
+	 * @param <T>       type of an entity
+	 * @return number of inserted entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> long insert(Iterator<T> entities, int batchSize) {
+		return withLock(() -> manager.insert(entities, batchSize));
+	}
+
+	/**
+	 * Updates the entity
+	 *
+	 * <p>
+	 * Returns the updated entity
+	 *
+	 * @param entity an entity object to update
+	 * @param <T>    type of an entity
+	 * @return updated entity object
+	 */
+	@Override
+	public <T> T update(T entity) {
+		return withLock(() -> manager.update(entity));
+	}
+
+	/**
+	 * Updates the collection of entities
+	 *
+	 * <p>
+	 * Returns the collection of updated entities
+	 *
+	 * @param entities the collection of updated entities
+	 * @param <T>      type of an entity
+	 * @return a collection of updated entities
+	 */
+	@Override
+	public <T> Collection<T> update(Collection<T> entities) {
+		return withLock(() -> manager.update(entities));
+	}
+
+	/**
+	 * Updates the collection of entities in batches of the specified {@code batchSize}
+	 *
+	 * <p>
+	 * Entities are merged batch by batch and the persistence context is flushed and cleared
+	 * after each batch, thus at most one batch of merged entities is managed at once. Clearing
+	 * detaches all other managed entities as well. JDBC batching of the specified {@code batchSize}
+	 * is enabled for providers supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the ordered list of updated entities, which are detached
+	 *
+	 * @param entities  the collection of entities to update
+	 * @param batchSize number of entities to update per batch
+	 * @param <T>       type of an entity
+	 * @return an ordered list of updated entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> List<T> update(Collection<T> entities, int batchSize) {
+		return withLock(() -> manager.update(entities, batchSize));
+	}
+
+	/**
+	 * Updates entities from the specified {@code entities} iterator in batches of
+	 * the specified {@code batchSize}
+	 *
+	 * <p>
+	 * Entities are merged batch by batch and the persistence context is flushed and cleared
+	 * after each batch, thus at most one batch of merged entities is managed at once and neither
+	 * the input nor the merged entities are held in memory. Clearing detaches all other managed
+	 * entities as well. JDBC batching of the specified {@code batchSize} is enabled for providers
+	 * supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the number of updated entities
+	 *
+	 * @param entities  an iterator of entities to update
+	 * @param batchSize number of entities to update per batch
+	 * @param <T>       type of an entity
+	 * @return number of updated entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> long update(Iterator<T> entities, int batchSize) {
+		return withLock(() -> manager.update(entities, batchSize));
+	}
+
+	/**
+	 * Deletes the entity
+	 *
+	 * @param entity an entity object to delete
+	 * @param <T>    type of an entity
+	 */
+	@Override
+	public <T> void delete(T entity) {
+		withLock(() -> {
+			manager.delete(entity);
+			return null;
+		});
+	}
+
+	/**
+	 * Deletes the collection of entities
+	 *
+	 * @param entities the collection of entities to delete
+	 * @param <T>      type of an entity
+	 */
+	@Override
+	public <T> void delete(Collection<T> entities) {
+		withLock(() -> {
+			manager.delete(entities);
+			return null;
+		});
+	}
+
+	/**
+	 * Updates entities with the specified {@code entityClass} filtered by the specified
+	 * expression {@code function} with a single bulk statement, setting attributes with
+	 * the specified {@code updateFunction}
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not updated and
+	 * lifecycle callbacks are not invoked
+	 *
+	 * <p>
+	 * Returns the number of updated entities
+	 *
+	 * @param entityClass    a class of an entity
+	 * @param function       an {@link ExpressionFunction} to apply filter
+	 * @param updateFunction an {@link UpdateFunction} to set attributes
+	 * @param <T>            type of an entity
+	 * @return number of updated entities
+	 */
+	@Override
+	public <T> int update(Class<T> entityClass, ExpressionFunction<T> function, UpdateFunction<T> updateFunction) {
+		return withLock(() -> manager.update(entityClass, function, updateFunction));
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} filtered by the specified
+	 * expression {@code function} with a single bulk statement
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T> int delete(Class<T> entityClass, ExpressionFunction<T> function) {
+		return withLock(() -> manager.delete(entityClass, function));
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most 1000 primary keys each
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys) {
+		return withLock(() -> manager.deleteById(entityClass, primaryKeys));
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each
+	 *
+	 * <p>
+	 * The {@code chunkSize} should be kept under the database limit of statement parameters.
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys, int chunkSize) {
+		return withLock(() -> manager.deleteById(entityClass, primaryKeys, chunkSize));
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each,
+	 * running the statements in parallel on the specified {@code executor}
+	 *
+	 * <p>
+	 * Each statement runs with its own {@link EntityManager} in its own resource local transaction,
+	 * thus the deletion is not atomic: if any statement fails, the not yet started ones are cancelled,
+	 * while the already committed ones remain. Entities are not loaded, thus the already managed
+	 * entities are not removed from the persistence context
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param executor    an {@link Executor} to run statements on
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys, int chunkSize, Executor executor) {
+		return withLock(() -> manager.deleteById(entityClass, primaryKeys, chunkSize, executor));
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the unit of work ends
+	 *
+	 * <p>
+	 * Single and collection insert, update and delete operations invoked within the unit of work
+	 * do not flush the persistence context each, instead it is flushed once when the unit of work
+	 * ends successfully, thus the provider is able to batch the statements. A nested unit of work
+	 * joins the outer one. Queries may still flush the pending changes according to the
+	 * {@link javax.persistence.FlushModeType} of the underlying {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param supplier a supplier to run within the unit of work
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	@Override
+	public <R> R unitOfWork(Supplier<R> supplier) {
+		return withLock(() -> manager.unitOfWork(supplier));
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the specified {@code flushThreshold} number of entities
+	 * is written or the unit of work ends
+	 *
+	 * <p>
+	 * Single and collection insert, update and delete operations invoked within the unit of work
+	 * do not flush the persistence context each, instead it is flushed once the number of written
+	 * entities since the last flush reaches the {@code flushThreshold} and once more when the
+	 * unit of work ends successfully, thus the provider is able to batch the statements, while
+	 * the number of pending changes stays bounded. A nested unit of work joins the outer one,
+	 * keeping the outer {@code flushThreshold}
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param flushThreshold number of written entities to flush after, {@code 0} means
+	 *                       flushing only when the unit of work ends
+	 * @param supplier       a supplier to run within the unit of work
+	 * @param <R>            type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	@Override
+	public <R> R unitOfWork(int flushThreshold, Supplier<R> supplier) {
+		return withLock(() -> manager.unitOfWork(flushThreshold, supplier));
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a resource local transaction, thus all entity
+	 * write operations invoked within it are committed at once
+	 *
+	 * <p>
+	 * Begins a new transaction and commits it when the {@code supplier} completes, or rolls it back
+	 * if the {@code supplier} fails. A nested transaction scope joins the already active transaction,
+	 * marking it for rollback only if the nested {@code supplier} fails, thus the outermost scope fails
+	 * to commit even if it handles the failure
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param supplier a supplier to run within the transaction
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 * @throws javax.persistence.RollbackException if the transaction is marked for rollback only
+	 *                                             or fails to commit
+	 */
+	@Override
+	public <R> R inTransaction(Supplier<R> supplier) {
+		return withLock(() -> manager.inTransaction(supplier));
+	}
+
+	/**
+	 * Refreshes the state of an entity
+	 *
+	 * @param entity an entity object to refresh the state of
+	 * @param <T>    type of an entity
+	 */
+	@Override
+	public <T> void refresh(T entity) {
+		manager.refresh(entity);
+	}
+
+	/**
+	 * Refreshes the state of each entity in the specified collection
+	 *
+	 * @param entities the collection of entities to refresh states of
+	 * @param <T>      type of an entity
+	 */
+	@Override
+	public <T> void refresh(Collection<T> entities) {
+		manager.refresh(entities);
+	}
+
+	/**
+	 * Detaches an entity from context
+	 *
+	 * @param entity an entity object to detach
+	 * @param <T>    type of an entity
+	 */
+	@Override
+	public <T> void detach(T entity) {
+		manager.detach(entity);
+	}
+
+	/**
+	 * Detaches the each entity in the specified collection from context
+	 *
+	 * @param entities the collection of entities to detach
+	 * @param <T>      type of an entity
+	 */
+	@Override
+	public <T> void detach(Collection<T> entities) {
+		manager.detach(entities);
+	}
+
+	/**
+	 * Returns the underlying {@link EntityManager}
+	 *
+	 * @return underlying {@link EntityManager} instance
+	 */
+	@Override
+	public EntityManager em() {
+		return manager.em();
+	}
+
+	/**
+	 * Returns the underlying {@link EntityManagerFactory}
+	 *
+	 * <p>
+	 * Unlike {@link #em()}, available regardless of whether an {@link EntityManager} is bound
+	 *
+	 * @return underlying {@link EntityManagerFactory} instance
+	 */
+	@Override
+	public EntityManagerFactory emf() {
+		return manager.emf();
+	}
+
+	/**
+	 * Applies the specified {@code supplier} holding the lock
+	 *
+	 * @param supplier a supplier to apply
+	 * @param <R>      type of the result
+	 * @return result of the supplier
+	 * @throws LockTimeoutException if the lock is not acquired within the timeout
+	 * @throws PersistenceException if interrupted while waiting for the lock
+	 */
+	private <R> R withLock(Supplier<R> supplier) {
+		lock();
+		try {
+			return supplier.get();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Acquires the lock, recording lock wait metrics
+	 *
+	 * @throws LockTimeoutException if the lock is not acquired within the timeout
+	 * @throws PersistenceException if interrupted while waiting for the lock
+	 */
+	private void lock() {
+		long start = System.nanoTime();
+		boolean locked;
+		try {
+			if (timeoutNanos < 0) {
+				lock.lockInterruptibly();
+				locked = true;
+			} else {
+				locked = lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PersistenceException("Interrupted while waiting for the lock", e);
+		} finally {
+			long wait = System.nanoTime() - start;
+			waitNanos.add(wait);
+			maxWaitNanos.accumulate(wait);
+		}
+		if (!locked) {
+			timeouts.increment();
+			throw new LockTimeoutException("Failed to acquire the lock within " + Duration.ofNanos(timeoutNanos));
+		}
+		acquisitions.increment();
+	}
+
+}
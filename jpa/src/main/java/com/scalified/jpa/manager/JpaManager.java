@@ -28,13 +28,20 @@ package com.scalified.jpa.manager;
 import com.scalified.jpa.function.CriteriaFunction;
 import com.scalified.jpa.function.ExpressionFunction;
 import com.scalified.jpa.function.ResultFunction;
+import com.scalified.jpa.function.UpdateFunction;
 import com.scalified.jpa.sp.SpQuery;
 import com.scalified.jpa.specification.Specification;
+import com.scalified.jpa.stream.StreamConfig;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.criteria.CriteriaBuilder;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -99,6 +106,33 @@ public interface JpaManager {
 	 */
 	<T> Stream<T> stream(Class<T> entityClass, int chunkSize);
 
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	<T> Stream<T> stream(Class<T> entityClass, StreamConfig config);
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code entityClass},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, keyset paging, adaptive chunk size and statistics options are applied
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	<T> Flow.Publisher<T> publisher(Class<T> entityClass, StreamConfig config);
+
 	/**
 	 * Returns the generic result found by the specified {@code criteriaFunction} and
 	 * derived from applying the specified {@code resultFunction}
@@ -132,6 +166,37 @@ public interface JpaManager {
 	 */
 	<T> Stream<T> stream(CriteriaFunction<T> criteriaFunction, int chunkSize);
 
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Keyset paging, parallel and sized streams are not supported, since they require an entity class
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param config           stream configuration object
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	<T> Stream<T> stream(CriteriaFunction<T> criteriaFunction, StreamConfig config);
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code criteriaFunction},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, adaptive chunk size and statistics options are applied. Keyset
+	 * paging and parallel options are not supported, since they require an entity class
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param config           stream configuration object
+	 * @param <T>              type of an entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	<T> Flow.Publisher<T> publisher(CriteriaFunction<T> criteriaFunction, StreamConfig config);
+
 	/**
 	 * Returns the generic result found by the specified {@code specification} and
 	 * derived from applying the specified {@code resultFunction}
@@ -145,6 +210,53 @@ public interface JpaManager {
 	 */
 	<T, R> R find(Specification<T> specification, ResultFunction<T, R> resultFunction);
 
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification}
+	 *
+	 * @param specification a specification to find result
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	<T> Stream<T> stream(Specification<T> specification);
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param specification a specification to find result
+	 * @param chunkSize     size of chunk
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	<T> Stream<T> stream(Specification<T> specification, int chunkSize);
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param specification a specification to find result
+	 * @param config        stream configuration object
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	<T> Stream<T> stream(Specification<T> specification, StreamConfig config);
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, keyset paging, adaptive chunk size and statistics options are applied
+	 *
+	 * @param specification a specification to find result
+	 * @param config        stream configuration object
+	 * @param <T>           type of an entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	<T> Flow.Publisher<T> publisher(Specification<T> specification, StreamConfig config);
+
 	/**
 	 * Executes query and returns the number of entities updated or deleted
 	 *
@@ -163,6 +275,34 @@ public interface JpaManager {
 	 */
 	<T> List<T> query(String sql, Class<T> entityClass);
 
+	/**
+	 * Returns the {@link Stream} of entities as a result of raw {@code sql} query execution
+	 *
+	 * <p>
+	 * Entities are loaded chunk by chunk, thus the {@code sql} should define a stable order
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param <T>         type of the result
+	 * @return {@link Stream} of entities
+	 */
+	<T> Stream<T> stream(String sql, Class<T> entityClass);
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of raw {@code sql} query execution,
+	 * which has the specified {@code chunkSize}
+	 *
+	 * <p>
+	 * Entities are loaded chunk by chunk, thus the {@code sql} should define a stable order
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param chunkSize   size of chunk
+	 * @param <T>         type of the result
+	 * @return {@link Stream} of entities
+	 */
+	<T> Stream<T> stream(String sql, Class<T> entityClass, int chunkSize);
+
 	/**
 	 * Returns the list of entities as a result of stored procedure execution
 	 * built from the specified {@code spQuery}
@@ -173,6 +313,22 @@ public interface JpaManager {
 	 */
 	<T> List<T> query(SpQuery<T> spQuery);
 
+	/**
+	 * Returns the {@link Stream} of entities as a result of stored procedure execution
+	 * built from the specified {@code spQuery}
+	 *
+	 * <p>
+	 * Results are read via {@link javax.persistence.Query#getResultStream()}, thus providers
+	 * supporting it read {@link javax.persistence.ParameterMode#REF_CURSOR} results lazily, while
+	 * others load them in full when the procedure is executed. The stream should be closed
+	 * to release the underlying cursor
+	 *
+	 * @param spQuery stored procedure configuration object
+	 * @param <T>     type of the result
+	 * @return {@link Stream} of entities
+	 */
+	<T> Stream<T> stream(SpQuery<T> spQuery);
+
 	/**
 	 * Returns the count of all entities with the specified {@code entityClass}
 	 *
@@ -193,6 +349,33 @@ public interface JpaManager {
 	 */
 	<T> long count(Class<T> entityClass, ExpressionFunction<T> function);
 
+	/**
+	 * Returns {@code true} if any entity with the specified {@code entityClass} exists,
+	 * otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first entity
+	 *
+	 * @param entityClass a class of an entity
+	 * @param <T>         type of an entity
+	 * @return {@code true} if any entity exists, {@code false} otherwise
+	 */
+	<T> boolean exists(Class<T> entityClass);
+
+	/**
+	 * Returns {@code true} if any entity with the specified {@code entityClass} filtered
+	 * by the specified expression {@code function} exists, otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first matching entity
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return {@code true} if any filtered entity exists, {@code false} otherwise
+	 */
+	<T> boolean exists(Class<T> entityClass, ExpressionFunction<T> function);
+
 	/**
 	 * Inserts an entity object
 	 *
@@ -217,6 +400,27 @@ public interface JpaManager {
 	 */
 	<T> Collection<T> insert(Collection<T> entities);
 
+	/**
+	 * Inserts entities from the specified {@code entities} iterator in batches of
+	 * the specified {@code batchSize}
+	 *
+	 * <p>
+	 * The persistence context is flushed and cleared after each batch, thus at most one batch
+	 * of entities is managed at once and the whole input is never held in memory. Clearing
+	 * detaches all other managed entities as well. JDBC batching of the specified {@code batchSize}
+	 * is enabled for providers supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the number of inserted entities
+	 *
+	 * @param entities  an iterator of entities to insert
+	 * @param batchSize number of entities to insert per batch
+	 * @param <T>       type of an entity
+	 * @return number of inserted entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	<T> long insert(Iterator<T> entities, int batchSize);
+
 	/**
 	 * Updates the entity
 	 *
@@ -241,6 +445,48 @@ public interface JpaManager {
 	 */
 	<T> Collection<T> update(Collection<T> entities);
 
+	/**
+	 * Updates the collection of entities in batches of the specified {@code batchSize}
+	 *
+	 * <p>
+	 * Entities are merged batch by batch and the persistence context is flushed and cleared
+	 * after each batch, thus at most one batch of merged entities is managed at once. Clearing
+	 * detaches all other managed entities as well. JDBC batching of the specified {@code batchSize}
+	 * is enabled for providers supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the ordered list of updated entities, which are detached
+	 *
+	 * @param entities  the collection of entities to update
+	 * @param batchSize number of entities to update per batch
+	 * @param <T>       type of an entity
+	 * @return an ordered list of updated entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	<T> List<T> update(Collection<T> entities, int batchSize);
+
+	/**
+	 * Updates entities from the specified {@code entities} iterator in batches of
+	 * the specified {@code batchSize}
+	 *
+	 * <p>
+	 * Entities are merged batch by batch and the persistence context is flushed and cleared
+	 * after each batch, thus at most one batch of merged entities is managed at once and neither
+	 * the input nor the merged entities are held in memory. Clearing detaches all other managed
+	 * entities as well. JDBC batching of the specified {@code batchSize} is enabled for providers
+	 * supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the number of updated entities
+	 *
+	 * @param entities  an iterator of entities to update
+	 * @param batchSize number of entities to update per batch
+	 * @param <T>       type of an entity
+	 * @return number of updated entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	<T> long update(Iterator<T> entities, int batchSize);
+
 	/**
 	 * Deletes the entity
 	 *
@@ -257,6 +503,173 @@ public interface JpaManager {
 	 */
 	<T> void delete(Collection<T> entities);
 
+	/**
+	 * Updates entities with the specified {@code entityClass} filtered by the specified
+	 * expression {@code function} with a single bulk statement, setting attributes with
+	 * the specified {@code updateFunction}
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not updated and
+	 * lifecycle callbacks are not invoked
+	 *
+	 * <p>
+	 * Returns the number of updated entities
+	 *
+	 * @param entityClass    a class of an entity
+	 * @param function       an {@link ExpressionFunction} to apply filter
+	 * @param updateFunction an {@link UpdateFunction} to set attributes
+	 * @param <T>            type of an entity
+	 * @return number of updated entities
+	 */
+	<T> int update(Class<T> entityClass, ExpressionFunction<T> function, UpdateFunction<T> updateFunction);
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} filtered by the specified
+	 * expression {@code function} with a single bulk statement
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return number of deleted entities
+	 */
+	<T> int delete(Class<T> entityClass, ExpressionFunction<T> function);
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most 1000 primary keys each
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	<T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys);
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each
+	 *
+	 * <p>
+	 * The {@code chunkSize} should be kept under the database limit of statement parameters.
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	<T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys, int chunkSize);
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each,
+	 * running the statements in parallel on the specified {@code executor}
+	 *
+	 * <p>
+	 * Each statement runs with its own {@link EntityManager} in its own resource local transaction,
+	 * thus the deletion is not atomic: if any statement fails, the not yet started ones are cancelled,
+	 * while the already committed ones remain. Entities are not loaded, thus the already managed
+	 * entities are not removed from the persistence context
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param executor    an {@link Executor} to run statements on
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	<T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys, int chunkSize, Executor executor);
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the unit of work ends
+	 *
+	 * <p>
+	 * Single and collection insert, update and delete operations invoked within the unit of work
+	 * do not flush the persistence context each, instead it is flushed once when the unit of work
+	 * ends successfully, thus the provider is able to batch the statements. A nested unit of work
+	 * joins the outer one. Queries may still flush the pending changes according to the
+	 * {@link javax.persistence.FlushModeType} of the underlying {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param supplier a supplier to run within the unit of work
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	<R> R unitOfWork(Supplier<R> supplier);
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the specified {@code flushThreshold} number of entities
+	 * is written or the unit of work ends
+	 *
+	 * <p>
+	 * Single and collection insert, update and delete operations invoked within the unit of work
+	 * do not flush the persistence context each, instead it is flushed once the number of written
+	 * entities since the last flush reaches the {@code flushThreshold} and once more when the
+	 * unit of work ends successfully, thus the provider is able to batch the statements, while
+	 * the number of pending changes stays bounded. A nested unit of work joins the outer one,
+	 * keeping the outer {@code flushThreshold}
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param flushThreshold number of written entities to flush after, {@code 0} means
+	 *                       flushing only when the unit of work ends
+	 * @param supplier       a supplier to run within the unit of work
+	 * @param <R>            type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	<R> R unitOfWork(int flushThreshold, Supplier<R> supplier);
+
+	/**
+	 * Runs the specified {@code supplier} within a resource local transaction, thus all entity
+	 * write operations invoked within it are committed at once
+	 *
+	 * <p>
+	 * Begins a new transaction and commits it when the {@code supplier} completes, or rolls it back
+	 * if the {@code supplier} fails. A nested transaction scope joins the already active transaction,
+	 * marking it for rollback only if the nested {@code supplier} fails, thus the outermost scope fails
+	 * to commit even if it handles the failure
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param supplier a supplier to run within the transaction
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 * @throws javax.persistence.RollbackException if the transaction is marked for rollback only
+	 *                                             or fails to commit
+	 */
+	<R> R inTransaction(Supplier<R> supplier);
+
 	/**
 	 * Refreshes the state of an entity
 	 *
@@ -296,4 +709,14 @@ public interface JpaManager {
 	 */
 	EntityManager em();
 
+	/**
+	 * Returns the underlying {@link EntityManagerFactory}
+	 *
+	 * <p>
+	 * Unlike {@link #em()}, available regardless of whether an {@link EntityManager} is bound
+	 *
+	 * @return underlying {@link EntityManagerFactory} instance
+	 */
+	EntityManagerFactory emf();
+
 }
@@ -0,0 +1,1413 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.scalified.jpa.manager;
+
+import com.scalified.jpa.commons.EntityManagerSource;
+import com.scalified.jpa.commons.TaskFuture;
+import com.scalified.jpa.function.CriteriaFunction;
+import com.scalified.jpa.function.ExpressionFunction;
+import com.scalified.jpa.function.ResultFunction;
+import com.scalified.jpa.function.UpdateFunction;
+import com.scalified.jpa.sp.SpQuery;
+import com.scalified.jpa.specification.Specification;
+import com.scalified.jpa.stream.StreamConfig;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+import javax.persistence.criteria.CriteriaBuilder;
+import java.lang.ref.Cleaner;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A {@link JpaManager} implementation, which leases an {@link EntityManager} from
+ * the {@link EntityManagerFactory} per operation or per unit of work, thus is safe
+ * for concurrent use without a global lock
+ *
+ * <p>
+ * Outside of a unit of work each operation runs with its own {@link EntityManager}
+ * on a {@link JpaStandardManager}, which is closed when the operation completes, thus
+ * the returned entities are detached. Entity write operations run in their own resource
+ * local transaction, which is rolled back on failure. Streams keep their
+ * {@link EntityManager} until exhausted, failed or closed, while the ones abandoned unclosed
+ * (e.g. by short-circuiting operations) release it only once garbage collected, thus should
+ * be closed. Parallel and prefetching streams, publishers and parallel deletion lease
+ * {@link EntityManager} instances of their own
+ *
+ * <p>
+ * Within {@link #unitOfWork(int, Supplier)} or {@link #inTransaction(Supplier)} all operations
+ * invoked by the same thread share a single {@link EntityManager} and a single resource local
+ * transaction, which is committed when the scope ends successfully and rolled back otherwise.
+ * The underlying {@link EntityManager} is available via {@link #em()} within a scope only,
+ * the same applies to {@link #refresh(Object)} and {@link #detach(Object)}, which are
+ * meaningless on a short lived {@link EntityManager}. Entities are merged before deletion
+ * if not managed, thus the ones returned by previous operations may be deleted as is
+ *
+ * <p>
+ * The number of concurrently leased {@link EntityManager} instances is bounded, callers
+ * exceeding the bound wait in the order of arrival. Leases taken by a thread already holding
+ * one (e.g. operations invoked while consuming a stream, or from within a unit of work by
+ * publishers, prefetching and parallel streams and parallel deletion) do not count against
+ * the bound, thus the thread does not wait for itself
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class JpaPooledManager implements JpaManager {
+
+	/**
+	 * A {@link Cleaner} releasing leases of unreachable streams
+	 */
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	/**
+	 * An {@link EntityManagerFactory} to create {@link EntityManager} instances from
+	 */
+	private final EntityManagerFactory emf;
+
+	/**
+	 * Permits to lease {@link EntityManager} instances
+	 */
+	private final Semaphore permits;
+
+	/**
+	 * A {@link JpaManager} of the current thread unit of work or transaction scope
+	 */
+	private final ThreadLocal<JpaManager> scope = new ThreadLocal<>();
+
+	/**
+	 * Numbers of permits held per thread
+	 */
+	private final Map<Thread, Integer> holders = new ConcurrentHashMap<>();
+
+	/**
+	 * Threads, which took permits for leased {@link EntityManager} instances
+	 */
+	private final Map<EntityManager, Thread> permitted = Collections.synchronizedMap(new IdentityHashMap<>());
+
+	/**
+	 * Creates {@link JpaPooledManager} instance
+	 *
+	 * @param emf            an {@link EntityManagerFactory} to create {@link EntityManager} instances from
+	 * @param maxConcurrency maximum number of concurrently leased {@link EntityManager} instances
+	 * @throws IllegalArgumentException if the {@code maxConcurrency} is not positive
+	 */
+	public JpaPooledManager(EntityManagerFactory emf, int maxConcurrency) {
+		if (maxConcurrency <= 0) {
+			throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+		}
+		this.emf = emf;
+		this.permits = new Semaphore(maxConcurrency, true);
+	}
+
+	/**
+	 * Returns an entity found by its {@code primaryKey}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param primaryKey  a primary key of a searched entity
+	 * @param <T>         type of a searched entity
+	 * @param <K>         type of a primary key of a searched entity
+	 * @return entity object
+	 */
+	@Override
+	public <T, K> T find(Class<T> entityClass, K primaryKey) {
+		return apply(manager -> manager.find(entityClass, primaryKey));
+	}
+
+	/**
+	 * Returns the {@link List} of all generic results found by the specified
+	 * {@code entityClass}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param <T>         type of the searched entity
+	 * @return {@link List} of all generic results
+	 */
+	@Override
+	public <T> List<T> find(Class<T> entityClass) {
+		return apply(manager -> manager.find(entityClass));
+	}
+
+	/**
+	 * Returns the generic result found by the specified {@code entityClass}
+	 * and derived from applying the specified {@code resultFunction}
+	 *
+	 * @param entityClass    a class of a searched entity
+	 * @param resultFunction a function, which maps {@link CriteriaBuilder}
+	 *                       to a generic result
+	 * @param <T>            type of an entity
+	 * @param <R>            type of the result
+	 * @return generic result object
+	 */
+	@Override
+	public <T, R> R find(Class<T> entityClass, ResultFunction<T, R> resultFunction) {
+		return apply(manager -> manager.find(entityClass, resultFunction));
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass) {
+		return streamOf(manager -> manager.stream(entityClass));
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param chunkSize   size of chunk
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass, int chunkSize) {
+		return streamOf(manager -> manager.stream(entityClass, chunkSize));
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass, StreamConfig config) {
+		return streamOf(config, manager -> manager.stream(entityClass, config));
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code entityClass},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, keyset paging, adaptive chunk size and statistics options are applied
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(Class<T> entityClass, StreamConfig config) {
+		return apply(manager -> manager.publisher(entityClass, config));
+	}
+
+	/**
+	 * Returns the generic result found by the specified {@code criteriaFunction} and
+	 * derived from applying the specified {@code resultFunction}
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param resultFunction   a function, which maps {@link CriteriaBuilder}
+	 *                         to a generic result
+	 * @param <T>              type of an entity
+	 * @param <R>              type of the result
+	 * @return generic result object
+	 */
+	@Override
+	public <T, R> R find(CriteriaFunction<T> criteriaFunction, ResultFunction<T, R> resultFunction) {
+		return apply(manager -> manager.find(criteriaFunction, resultFunction));
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction}
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction) {
+		return streamOf(manager -> manager.stream(criteriaFunction));
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param chunkSize        size of chunk
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction, int chunkSize) {
+		return streamOf(manager -> manager.stream(criteriaFunction, chunkSize));
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Keyset paging, parallel and sized streams are not supported, since they require an entity class
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param config           stream configuration object
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction, StreamConfig config) {
+		return streamOf(config, manager -> manager.stream(criteriaFunction, config));
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code criteriaFunction},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, adaptive chunk size and statistics options are applied. Keyset
+	 * paging and parallel options are not supported, since they require an entity class
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param config           stream configuration object
+	 * @param <T>              type of an entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(CriteriaFunction<T> criteriaFunction, StreamConfig config) {
+		return apply(manager -> manager.publisher(criteriaFunction, config));
+	}
+
+	/**
+	 * Returns the generic result found by the specified {@code specification} and
+	 * derived from applying the specified {@code resultFunction}
+	 *
+	 * @param specification  a specification to find result
+	 * @param resultFunction a function, which maps {@link CriteriaBuilder}
+	 *                       to a generic result
+	 * @param <T>            type of an entity
+	 * @param <R>            type of the result
+	 * @return generic result object
+	 */
+	@Override
+	public <T, R> R find(Specification<T> specification, ResultFunction<T, R> resultFunction) {
+		return apply(manager -> manager.find(specification, resultFunction));
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification}
+	 *
+	 * @param specification a specification to find result
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification) {
+		return streamOf(manager -> manager.stream(specification));
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param specification a specification to find result
+	 * @param chunkSize     size of chunk
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification, int chunkSize) {
+		return streamOf(manager -> manager.stream(specification, chunkSize));
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param specification a specification to find result
+	 * @param config        stream configuration object
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification, StreamConfig config) {
+		return streamOf(config, manager -> manager.stream(specification, config));
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, keyset paging, adaptive chunk size and statistics options are applied
+	 *
+	 * @param specification a specification to find result
+	 * @param config        stream configuration object
+	 * @param <T>           type of an entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(Specification<T> specification, StreamConfig config) {
+		return apply(manager -> manager.publisher(specification, config));
+	}
+
+	/**
+	 * Executes query and returns the number of entities updated or deleted
+	 *
+	 * @param sql raw SQL query
+	 * @return number of entities updated or deleted
+	 */
+	@Override
+	public int query(String sql) {
+		return applyInTransaction(manager -> manager.query(sql));
+	}
+
+	/**
+	 * Returns the list of entities as a result of raw {@code sql} query execution
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param <T>         type of the result
+	 * @return the list of entities
+	 */
+	@Override
+	public <T> List<T> query(String sql, Class<T> entityClass) {
+		return apply(manager -> manager.query(sql, entityClass));
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of raw {@code sql} query execution
+	 *
+	 * <p>
+	 * Entities are loaded chunk by chunk, thus the {@code sql} should define a stable order
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param <T>         type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(String sql, Class<T> entityClass) {
+		return streamOf(manager -> manager.stream(sql, entityClass));
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of raw {@code sql} query execution,
+	 * which has the specified {@code chunkSize}
+	 *
+	 * <p>
+	 * Entities are loaded chunk by chunk, thus the {@code sql} should define a stable order
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param chunkSize   size of chunk
+	 * @param <T>         type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(String sql, Class<T> entityClass, int chunkSize) {
+		return streamOf(manager -> manager.stream(sql, entityClass, chunkSize));
+	}
+
+	/**
+	 * Returns the list of entities as a result of stored procedure execution
+	 * built from the specified {@code spQuery}
+	 *
+	 * @param spQuery stored procedure configuration object
+	 * @param <T>     type of the result
+	 * @return the list of entities
+	 */
+	@Override
+	public <T> List<T> query(SpQuery<T> spQuery) {
+		return apply(manager -> manager.query(spQuery));
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of stored procedure execution
+	 * built from the specified {@code spQuery}
+	 *
+	 * <p>
+	 * Results are read via {@link javax.persistence.Query#getResultStream()}, thus providers
+	 * supporting it read {@link javax.persistence.ParameterMode#REF_CURSOR} results lazily, while
+	 * others load them in full when the procedure is executed. The stream should be closed
+	 * to release the underlying cursor
+	 *
+	 * @param spQuery stored procedure configuration object
+	 * @param <T>     type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(SpQuery<T> spQuery) {
+		return streamOf(manager -> manager.stream(spQuery));
+	}
+
+	/**
+	 * Returns the count of all entities with the specified {@code entityClass}
+	 *
+	 * @param entityClass a class of an entity
+	 * @param <T>         type of an entity
+	 * @return count of all entities
+	 */
+	@Override
+	public <T> long count(Class<T> entityClass) {
+		return apply(manager -> manager.count(entityClass));
+	}
+
+	/**
+	 * Returns the count of entities with the specified {@code entityClass} filtered
+	 * by the specified expression {@code function}
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return count of filtered entities
+	 */
+	@Override
+	public <T> long count(Class<T> entityClass, ExpressionFunction<T> function) {
+		return apply(manager -> manager.count(entityClass, function));
+	}
+
+	/**
+	 * Returns {@code true} if any entity with the specified {@code entityClass} exists,
+	 * otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first entity
+	 *
+	 * @param entityClass a class of an entity
+	 * @param <T>         type of an entity
+	 * @return {@code true} if any entity exists, {@code false} otherwise
+	 */
+	@Override
+	public <T> boolean exists(Class<T> entityClass) {
+		return apply(manager -> manager.exists(entityClass));
+	}
+
+	/**
+	 * Returns {@code true} if any entity with the specified {@code entityClass} filtered
+	 * by the specified expression {@code function} exists, otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first matching entity
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return {@code true} if any filtered entity exists, {@code false} otherwise
+	 */
+	@Override
+	public <T> boolean exists(Class<T> entityClass, ExpressionFunction<T> function) {
+		return apply(manager -> manager.exists(entityClass, function));
+	}
+
+	/**
+	 * Inserts an entity object
+	 *
+	 * <p>
+	 * Returns the inserted entity object
+	 *
+	 * @param entity an entity object to insert
+	 * @param <T>    type of an entity
+	 * @return inserted entity object
+	 */
+	@Override
+	public <T> T insert(T entity) {
+		return applyInTransaction(manager -> manager.insert(entity));
+	}
+
+	/**
+	 * Inserts the collection of entities
+	 *
+	 * <p>
+	 * Returns the collection of inserted entities
+	 *
+	 * @param entities a collection of entities to insert
+	 * @param <T>      type of an entity
+	 * @return a collection of inserted entities
+	 */
+	@Override
+	public <T> Collection<T> insert(Collection<T> entities) {
+		return applyInTransaction(manager -> manager.insert(entities));
+	}
+
+	/**
+	 * Inserts entities from the specified {@code entities} iterator in batches of
+	 * the specified {@code batchSize}
+	 *
+	 * <p>
+	 * The persistence context is flushed and cleared after each batch, thus at most one batch
+	 * of entities is managed at once and the whole input is never held in memory. Clearing
+	 * detaches all other managed entities as well. JDBC batching of the specified {@code batchSize}
+	 * is enabled for providers supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the number of inserted entities
+	 *
+	 * @param entities  an iterator of entities to insert
+	 * @param batchSize number of entities to insert per batch
+	 * @param <T>       type of an entity
+	 * @return number of inserted entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> long insert(Iterator<T> entities, int batchSize) {
+		return applyInTransaction(manager -> manager.insert(entities, batchSize));
+	}
+
+	/**
+	 * Updates the entity
+	 *
+	 * <p>
+	 * Returns the updated entity
+	 *
+	 * @param entity an entity object to update
+	 * @param <T>    type of an entity
+	 * @return updated entity object
+	 */
+	@Override
+	public <T> T update(T entity) {
+		return applyInTransaction(manager -> manager.update(entity));
+	}
+
+	/**
+	 * Updates the collection of entities
+	 *
+	 * <p>
+	 * Returns the collection of updated entities
+	 *
+	 * @param entities the collection of updated entities
+	 * @param <T>      type of an entity
+	 * @return a collection of updated entities
+	 */
+	@Override
+	public <T> Collection<T> update(Collection<T> entities) {
+		return applyInTransaction(manager -> manager.update(entities));
+	}
+
+	/**
+	 * Updates the collection of entities in batches of the specified {@code batchSize}
+	 *
+	 * <p>
+	 * Entities are merged batch by batch and the persistence context is flushed and cleared
+	 * after each batch, thus at most one batch of merged entities is managed at once. Clearing
+	 * detaches all other managed entities as well. JDBC batching of the specified {@code batchSize}
+	 * is enabled for providers supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the ordered list of updated entities, which are detached
+	 *
+	 * @param entities  the collection of entities to update
+	 * @param batchSize number of entities to update per batch
+	 * @param <T>       type of an entity
+	 * @return an ordered list of updated entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> List<T> update(Collection<T> entities, int batchSize) {
+		return applyInTransaction(manager -> manager.update(entities, batchSize));
+	}
+
+	/**
+	 * Updates entities from the specified {@code entities} iterator in batches of
+	 * the specified {@code batchSize}
+	 *
+	 * <p>
+	 * Entities are merged batch by batch and the persistence context is flushed and cleared
+	 * after each batch, thus at most one batch of merged entities is managed at once and neither
+	 * the input nor the merged entities are held in memory. Clearing detaches all other managed
+	 * entities as well. JDBC batching of the specified {@code batchSize} is enabled for providers
+	 * supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the number of updated entities
+	 *
+	 * @param entities  an iterator of entities to update
+	 * @param batchSize number of entities to update per batch
+	 * @param <T>       type of an entity
+	 * @return number of updated entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> long update(Iterator<T> entities, int batchSize) {
+		return applyInTransaction(manager -> manager.update(entities, batchSize));
+	}
+
+	/**
+	 * Deletes the entity
+	 *
+	 * <p>
+	 * An entity, which is not managed by the underlying {@link EntityManager}
+	 * (e.g. returned by an operation outside of a scope), is merged before deletion
+	 *
+	 * @param entity an entity object to delete
+	 * @param <T>    type of an entity
+	 */
+	@Override
+	public <T> void delete(T entity) {
+		acceptInTransaction(manager -> manager.delete(managed(manager, entity)));
+	}
+
+	/**
+	 * Deletes the collection of entities
+	 *
+	 * <p>
+	 * Entities, which are not managed by the underlying {@link EntityManager}
+	 * (e.g. returned by an operation outside of a scope), are merged before deletion
+	 *
+	 * @param entities the collection of entities to delete
+	 * @param <T>      type of an entity
+	 */
+	@Override
+	public <T> void delete(Collection<T> entities) {
+		acceptInTransaction(manager -> manager.delete(entities.stream()
+				.map(entity -> managed(manager, entity))
+				.collect(Collectors.toList())));
+	}
+
+	/**
+	 * Updates entities with the specified {@code entityClass} filtered by the specified
+	 * expression {@code function} with a single bulk statement, setting attributes with
+	 * the specified {@code updateFunction}
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not updated and
+	 * lifecycle callbacks are not invoked
+	 *
+	 * <p>
+	 * Returns the number of updated entities
+	 *
+	 * @param entityClass    a class of an entity
+	 * @param function       an {@link ExpressionFunction} to apply filter
+	 * @param updateFunction an {@link UpdateFunction} to set attributes
+	 * @param <T>            type of an entity
+	 * @return number of updated entities
+	 */
+	@Override
+	public <T> int update(Class<T> entityClass, ExpressionFunction<T> function, UpdateFunction<T> updateFunction) {
+		return applyInTransaction(manager -> manager.update(entityClass, function, updateFunction));
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} filtered by the specified
+	 * expression {@code function} with a single bulk statement
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T> int delete(Class<T> entityClass, ExpressionFunction<T> function) {
+		return applyInTransaction(manager -> manager.delete(entityClass, function));
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most 1000 primary keys each
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys) {
+		return applyInTransaction(manager -> manager.deleteById(entityClass, primaryKeys));
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each
+	 *
+	 * <p>
+	 * The {@code chunkSize} should be kept under the database limit of statement parameters.
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys, int chunkSize) {
+		return applyInTransaction(manager -> manager.deleteById(entityClass, primaryKeys, chunkSize));
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each,
+	 * running the statements in parallel on the specified {@code executor}
+	 *
+	 * <p>
+	 * Each statement runs with its own {@link EntityManager} in its own resource local transaction,
+	 * thus the deletion is not atomic: if any statement fails, the not yet started ones are cancelled,
+	 * while the already committed ones remain. Entities are not loaded, thus the already managed
+	 * entities are not removed from the persistence context
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param executor    an {@link Executor} to run statements on
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys, int chunkSize, Executor executor) {
+		JpaManager manager = scope.get();
+		if (Objects.nonNull(manager)) {
+			return manager.deleteById(entityClass, primaryKeys, chunkSize, executor);
+		}
+		boolean nested = holding();
+		List<CompletableFuture<Integer>> futures = JpaStandardManager.chunks(primaryKeys, chunkSize).stream()
+				.map(chunk -> TaskFuture.submit(executor, () -> applyLeased(nested, leased ->
+						leased.inTransaction(() -> leased.deleteById(entityClass, chunk, chunkSize))
+				)))
+				.collect(Collectors.toList());
+		try {
+			return futures.stream()
+					.mapToInt(CompletableFuture::join)
+					.sum();
+		} catch (CompletionException e) {
+			futures.forEach(future -> future.cancel(true));
+			if (e.getCause() instanceof PersistenceException) {
+				throw (PersistenceException) e.getCause();
+			}
+			throw new PersistenceException("Failed to delete entities by primary keys", e.getCause());
+		}
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the unit of work ends
+	 *
+	 * <p>
+	 * Single and collection insert, update and delete operations invoked within the unit of work
+	 * do not flush the persistence context each, instead it is flushed once when the unit of work
+	 * ends successfully, thus the provider is able to batch the statements. A nested unit of work
+	 * joins the outer one. Queries may still flush the pending changes according to the
+	 * {@link javax.persistence.FlushModeType} of the underlying {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param supplier a supplier to run within the unit of work
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	@Override
+	public <R> R unitOfWork(Supplier<R> supplier) {
+		return unitOfWork(0, supplier);
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the specified {@code flushThreshold} number of entities
+	 * is written or the unit of work ends
+	 *
+	 * <p>
+	 * Single and collection insert, update and delete operations invoked within the unit of work
+	 * do not flush the persistence context each, instead it is flushed once the number of written
+	 * entities since the last flush reaches the {@code flushThreshold} and once more when the
+	 * unit of work ends successfully, thus the provider is able to batch the statements, while
+	 * the number of pending changes stays bounded. A nested unit of work joins the outer one,
+	 * keeping the outer {@code flushThreshold}
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param flushThreshold number of written entities to flush after, {@code 0} means
+	 *                       flushing only when the unit of work ends
+	 * @param supplier       a supplier to run within the unit of work
+	 * @param <R>            type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	@Override
+	public <R> R unitOfWork(int flushThreshold, Supplier<R> supplier) {
+		return withScope(manager -> manager.inTransaction(() -> manager.unitOfWork(flushThreshold, supplier)));
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a resource local transaction, thus all entity
+	 * write operations invoked within it are committed at once
+	 *
+	 * <p>
+	 * Begins a new transaction and commits it when the {@code supplier} completes, or rolls it back
+	 * if the {@code supplier} fails. A nested transaction scope joins the already active transaction,
+	 * marking it for rollback only if the nested {@code supplier} fails, thus the outermost scope fails
+	 * to commit even if it handles the failure
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param supplier a supplier to run within the transaction
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 * @throws javax.persistence.RollbackException if the transaction is marked for rollback only
+	 *                                             or fails to commit
+	 */
+	@Override
+	public <R> R inTransaction(Supplier<R> supplier) {
+		return withScope(manager -> manager.inTransaction(supplier));
+	}
+
+	/**
+	 * Refreshes the state of an entity
+	 *
+	 * @param entity an entity object to refresh the state of
+	 * @param <T>    type of an entity
+	 * @throws IllegalStateException if called outside of a unit of work or transaction scope
+	 */
+	@Override
+	public <T> void refresh(T entity) {
+		scoped().refresh(entity);
+	}
+
+	/**
+	 * Refreshes the state of each entity in the specified collection
+	 *
+	 * @param entities the collection of entities to refresh states of
+	 * @param <T>      type of an entity
+	 * @throws IllegalStateException if called outside of a unit of work or transaction scope
+	 */
+	@Override
+	public <T> void refresh(Collection<T> entities) {
+		scoped().refresh(entities);
+	}
+
+	/**
+	 * Detaches an entity from context
+	 *
+	 * @param entity an entity object to detach
+	 * @param <T>    type of an entity
+	 * @throws IllegalStateException if called outside of a unit of work or transaction scope
+	 */
+	@Override
+	public <T> void detach(T entity) {
+		scoped().detach(entity);
+	}
+
+	/**
+	 * Detaches the each entity in the specified collection from context
+	 *
+	 * @param entities the collection of entities to detach
+	 * @param <T>      type of an entity
+	 * @throws IllegalStateException if called outside of a unit of work or transaction scope
+	 */
+	@Override
+	public <T> void detach(Collection<T> entities) {
+		scoped().detach(entities);
+	}
+
+	/**
+	 * Returns the {@link EntityManager} of the current thread unit of work or transaction scope
+	 *
+	 * @return the {@link EntityManager} of the current thread unit of work or transaction scope
+	 * @throws IllegalStateException if called outside of a unit of work or transaction scope
+	 */
+	@Override
+	public EntityManager em() {
+		return scoped().em();
+	}
+
+	/**
+	 * Returns the underlying {@link EntityManagerFactory}
+	 *
+	 * <p>
+	 * Unlike {@link #em()}, available regardless of whether an {@link EntityManager} is bound
+	 *
+	 * @return underlying {@link EntityManagerFactory} instance
+	 */
+	@Override
+	public EntityManagerFactory emf() {
+		return emf;
+	}
+
+	/**
+	 * Returns the {@link JpaManager} of the current thread unit of work or transaction scope
+	 *
+	 * @return the {@link JpaManager} of the current thread unit of work or transaction scope
+	 * @throws IllegalStateException if called outside of a unit of work or transaction scope
+	 */
+	private JpaManager scoped() {
+		JpaManager manager = scope.get();
+		if (Objects.isNull(manager)) {
+			throw new IllegalStateException("EntityManager is available within a unit of work or transaction scope only");
+		}
+		return manager;
+	}
+
+	/**
+	 * Returns the specified {@code entity} if it is managed by the {@link EntityManager}
+	 * of the specified {@code manager}, otherwise the managed copy of it after merging
+	 *
+	 * @param manager a {@link JpaManager} to resolve the managed entity with
+	 * @param entity  an entity object
+	 * @param <T>     type of an entity
+	 * @return managed entity object
+	 */
+	private static <T> T managed(JpaManager manager, T entity) {
+		EntityManager em = manager.em();
+		return em.contains(entity) ? entity : em.merge(entity);
+	}
+
+	/**
+	 * Applies the specified <b>function</b> to the {@link JpaManager} of the current
+	 * unit of work or of a newly leased {@link EntityManager}
+	 *
+	 * @param function a function to execute
+	 * @param <R>      type of the result
+	 * @return result of function execution
+	 */
+	private <R> R apply(Function<JpaManager, R> function) {
+		JpaManager manager = scope.get();
+		if (Objects.nonNull(manager)) {
+			return function.apply(manager);
+		}
+		return applyLeased(holding(), function);
+	}
+
+	/**
+	 * Applies the specified <b>function</b> to the {@link JpaManager} of the current
+	 * unit of work or of a newly leased {@link EntityManager} in a new transaction
+	 *
+	 * @param function a function to execute
+	 * @param <R>      type of the result
+	 * @return result of function execution
+	 */
+	private <R> R applyInTransaction(Function<JpaManager, R> function) {
+		JpaManager manager = scope.get();
+		if (Objects.nonNull(manager)) {
+			return function.apply(manager);
+		}
+		return applyLeased(holding(), leased -> leased.inTransaction(() -> function.apply(leased)));
+	}
+
+	/**
+	 * Accepts the specified <b>consumer</b> with the {@link JpaManager} of the current
+	 * unit of work or of a newly leased {@link EntityManager} in a new transaction
+	 *
+	 * @param consumer a consumer to accept
+	 */
+	private void acceptInTransaction(Consumer<JpaManager> consumer) {
+		applyInTransaction(manager -> {
+			consumer.accept(manager);
+			return null;
+		});
+	}
+
+	/**
+	 * Applies the specified <b>function</b> to the {@link JpaManager} of a newly leased
+	 * {@link EntityManager}, which is released when the function completes
+	 *
+	 * @param nested   whether the lease is nested, thus does not take a permit
+	 * @param function a function to execute
+	 * @param <R>      type of the result
+	 * @return result of function execution
+	 */
+	private <R> R applyLeased(boolean nested, Function<JpaManager, R> function) {
+		EntityManager em = lease(nested);
+		try {
+			return function.apply(new JpaStandardManager(em, source(nested)));
+		} finally {
+			release(em);
+		}
+	}
+
+	/**
+	 * Returns the stream created by the specified <b>function</b> from the {@link JpaManager}
+	 * of the current unit of work or of a newly leased {@link EntityManager}, which is released
+	 * when the stream is exhausted, fails, is closed or becomes unreachable
+	 *
+	 * @param function a function to create stream
+	 * @param <T>      type of an entity
+	 * @return stream created by the function
+	 */
+	private <T> Stream<T> streamOf(Function<JpaManager, Stream<T>> function) {
+		JpaManager manager = scope.get();
+		if (Objects.nonNull(manager)) {
+			return function.apply(manager);
+		}
+		boolean nested = holding();
+		EntityManager em = lease(nested);
+		Stream<T> stream;
+		try {
+			stream = function.apply(new JpaStandardManager(em, source(nested)));
+		} catch (RuntimeException | Error e) {
+			release(em);
+			throw e;
+		}
+		return closing(stream, () -> {
+			try {
+				stream.close();
+			} finally {
+				release(em);
+			}
+		});
+	}
+
+	/**
+	 * Returns the stream created by the specified <b>function</b> and configured with the
+	 * specified stream {@code config}
+	 *
+	 * <p>
+	 * Parallel and prefetching streams use the leased {@link EntityManager} only to be created,
+	 * reading the results with {@link EntityManager} instances of their own, thus the lease is
+	 * released as soon as the stream is created
+	 *
+	 * @param config   stream configuration object
+	 * @param function a function to create stream
+	 * @param <T>      type of an entity
+	 * @return stream created by the function
+	 */
+	private <T> Stream<T> streamOf(StreamConfig config, Function<JpaManager, Stream<T>> function) {
+		if (Objects.isNull(scope.get()) && (config.isParallel() || config.getPrefetch() > 0)) {
+			Stream<T> stream = apply(function);
+			return closing(stream, stream::close);
+		}
+		return streamOf(function);
+	}
+
+	/**
+	 * Returns the stream of elements of the specified {@code stream}, which runs the specified
+	 * {@code closer} once when exhausted, failed, closed or unreachable
+	 *
+	 * @param stream a stream to wrap
+	 * @param closer an action releasing resources of the stream
+	 * @param <T>    type of an element
+	 * @return wrapping stream
+	 */
+	private static <T> Stream<T> closing(Stream<T> stream, Runnable closer) {
+		AtomicBoolean closed = new AtomicBoolean();
+		Runnable once = () -> {
+			if (closed.compareAndSet(false, true)) {
+				closer.run();
+			}
+		};
+		ClosingSpliterator<T> spliterator = new ClosingSpliterator<>(stream.spliterator(), once, null);
+		CLEANER.register(spliterator, once);
+		return StreamSupport.stream(spliterator, stream.isParallel()).onClose(once);
+	}
+
+	/**
+	 * Returns {@code true} if the current thread holds a permit, {@code false} otherwise
+	 *
+	 * @return {@code true} if the current thread holds a permit, {@code false} otherwise
+	 */
+	private boolean holding() {
+		return holders.containsKey(Thread.currentThread());
+	}
+
+	/**
+	 * Leases a new {@link EntityManager}, waiting for a permit if the concurrency bound is reached
+	 * and the lease is not {@code nested}
+	 *
+	 * @param nested whether the lease is nested, thus does not take a permit
+	 * @return a new {@link EntityManager}
+	 * @throws PersistenceException if interrupted while waiting for a permit
+	 */
+	private EntityManager lease(boolean nested) {
+		if (!nested) {
+			try {
+				permits.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new PersistenceException("Interrupted while waiting for an EntityManager", e);
+			}
+		}
+		EntityManager em;
+		try {
+			em = emf.createEntityManager();
+		} catch (RuntimeException | Error e) {
+			if (!nested) {
+				permits.release();
+			}
+			throw e;
+		}
+		if (!nested) {
+			Thread thread = Thread.currentThread();
+			permitted.put(em, thread);
+			holders.merge(thread, 1, Integer::sum);
+		}
+		return em;
+	}
+
+	/**
+	 * Closes the specified leased {@code em} and releases its permit if taken
+	 *
+	 * @param em a leased {@link EntityManager}
+	 */
+	private void release(EntityManager em) {
+		try {
+			em.close();
+		} finally {
+			Thread thread = permitted.remove(em);
+			if (Objects.nonNull(thread)) {
+				holders.computeIfPresent(thread, (holder, count) -> count > 1 ? count - 1 : null);
+				permits.release();
+			}
+		}
+	}
+
+	/**
+	 * Returns the {@link EntityManagerSource}, which leases {@link EntityManager} instances
+	 * used apart from the leased one, e.g. by parallel and prefetching streams and publishers
+	 *
+	 * @param nested whether the leases are nested, thus do not take permits
+	 * @return {@link EntityManagerSource} instance
+	 */
+	private EntityManagerSource source(boolean nested) {
+		return new EntityManagerSource() {
+
+			@Override
+			public EntityManager create() {
+				return lease(nested || holding());
+			}
+
+			@Override
+			public void close(EntityManager em) {
+				release(em);
+			}
+
+		};
+	}
+
+	/**
+	 * Applies the specified <b>function</b> to the {@link JpaManager} of the current thread
+	 * unit of work or transaction scope, or to the {@link JpaManager} of a newly leased
+	 * {@link EntityManager}, which is bound to the current thread until the function completes
+	 *
+	 * @param function a function to execute
+	 * @param <R>      type of the result
+	 * @return result of function execution
+	 */
+	private <R> R withScope(Function<JpaManager, R> function) {
+		JpaManager manager = scope.get();
+		if (Objects.nonNull(manager)) {
+			return function.apply(manager);
+		}
+		EntityManager em = lease(holding());
+		try {
+			JpaManager scoped = new JpaStandardManager(em, source(true));
+			scope.set(scoped);
+			try {
+				return function.apply(scoped);
+			} finally {
+				scope.remove();
+			}
+		} finally {
+			release(em);
+		}
+	}
+
+	/**
+	 * A {@link Spliterator}, which runs a closer once the elements of an unsplit delegate
+	 * are exhausted or the traversal fails
+	 *
+	 * <p>
+	 * A split spliterator keeps its root reachable, thus the root is not cleaned while any
+	 * of its splits are still traversed
+	 *
+	 * @param <T> type of an element
+	 */
+	private static class ClosingSpliterator<T> implements Spliterator<T> {
+
+		/**
+		 * A delegate {@link Spliterator}
+		 */
+		private final Spliterator<T> delegate;
+
+		/**
+		 * An action releasing resources of the delegate
+		 */
+		private final Runnable closer;
+
+		/**
+		 * A root {@link ClosingSpliterator} this one is split from, {@code null} if this is the root
+		 */
+		@SuppressWarnings({"unused", "FieldCanBeLocal"})
+		private final ClosingSpliterator<T> root;
+
+		/**
+		 * Whether this spliterator has been split
+		 */
+		private boolean split;
+
+		/**
+		 * Creates {@link ClosingSpliterator} instance
+		 *
+		 * @param delegate a delegate {@link Spliterator}
+		 * @param closer   an action releasing resources of the delegate
+		 * @param root     a root {@link ClosingSpliterator}, {@code null} if this is the root
+		 */
+		private ClosingSpliterator(Spliterator<T> delegate, Runnable closer, ClosingSpliterator<T> root) {
+			this.delegate = delegate;
+			this.closer = closer;
+			this.root = root;
+		}
+
+		/**
+		 * Performs the given {@code action} on the next element, running the closer
+		 * when exhausted or failed
+		 *
+		 * @param action an action to perform
+		 * @return {@code false} if no elements remain, {@code true} otherwise
+		 */
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			boolean advanced;
+			try {
+				advanced = delegate.tryAdvance(action);
+			} catch (RuntimeException | Error e) {
+				close();
+				throw e;
+			}
+			if (!advanced) {
+				close();
+			}
+			return advanced;
+		}
+
+		/**
+		 * Performs the given {@code action} on each remaining element, running the closer
+		 * when exhausted or failed
+		 *
+		 * @param action an action to perform
+		 */
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+			try {
+				delegate.forEachRemaining(action);
+			} finally {
+				close();
+			}
+		}
+
+		/**
+		 * Splits off a part of the elements, unless this is a split spliterator
+		 *
+		 * @return a spliterator covering a part of the elements, {@code null} if not split
+		 */
+		@Override
+		public Spliterator<T> trySplit() {
+			Spliterator<T> prefix = delegate.trySplit();
+			if (Objects.isNull(prefix)) {
+				return null;
+			}
+			split = true;
+			return new ClosingSpliterator<>(prefix, closer, Objects.requireNonNullElse(root, this));
+		}
+
+		/**
+		 * Returns the estimated number of remaining elements of the delegate
+		 *
+		 * @return the estimated number of remaining elements
+		 */
+		@Override
+		public long estimateSize() {
+			return delegate.estimateSize();
+		}
+
+		/**
+		 * Returns the characteristics of the delegate
+		 *
+		 * @return the characteristics of the delegate
+		 */
+		@Override
+		public int characteristics() {
+			return delegate.characteristics();
+		}
+
+		/**
+		 * Returns the comparator of the delegate
+		 *
+		 * @return the comparator of the delegate
+		 */
+		@Override
+		public Comparator<? super T> getComparator() {
+			return delegate.getComparator();
+		}
+
+		/**
+		 * Runs the closer if this is an unsplit root spliterator
+		 */
+		private void close() {
+			if (Objects.isNull(root) && !split) {
+				closer.run();
+			}
+		}
+
+	}
+
+}
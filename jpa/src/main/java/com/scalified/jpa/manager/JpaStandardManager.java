@@ -25,22 +25,49 @@
 
 package com.scalified.jpa.manager;
 
+import com.scalified.jpa.commons.EntityManagerSource;
 import com.scalified.jpa.commons.EntitySpliterator;
+import com.scalified.jpa.commons.EntityUtils;
+import com.scalified.jpa.commons.RangeEntitySpliterator;
+import com.scalified.jpa.commons.TaskFuture;
 import com.scalified.jpa.function.CriteriaFunction;
 import com.scalified.jpa.function.ExpressionFunction;
 import com.scalified.jpa.function.ResultFunction;
+import com.scalified.jpa.function.UpdateFunction;
 import com.scalified.jpa.sp.SpQuery;
 import com.scalified.jpa.specification.Specification;
+import com.scalified.jpa.stream.AdaptiveChunkLoader;
+import com.scalified.jpa.stream.ChunkLoader;
+import com.scalified.jpa.stream.ChunkPublisher;
+import com.scalified.jpa.stream.DetachingChunkLoader;
+import com.scalified.jpa.stream.KeysetChunkLoader;
+import com.scalified.jpa.stream.OffsetChunkLoader;
+import com.scalified.jpa.stream.PrefetchingChunkLoader;
+import com.scalified.jpa.stream.StatisticsChunkLoader;
+import com.scalified.jpa.stream.StreamConfig;
+import com.scalified.jpa.stream.StreamStatistics;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
 import javax.persistence.ParameterMode;
+import javax.persistence.PersistenceException;
 import javax.persistence.StoredProcedureQuery;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -53,18 +80,69 @@ import java.util.stream.StreamSupport;
  */
 public class JpaStandardManager implements JpaManager {
 
+	/**
+	 * Hibernate query hint name of the number of rows fetched per round trip
+	 */
+	private static final String HIBERNATE_FETCH_SIZE_HINT = "org.hibernate.fetchSize";
+
+	/**
+	 * EclipseLink query hint name of the number of rows fetched per round trip
+	 */
+	private static final String ECLIPSELINK_FETCH_SIZE_HINT = "eclipselink.jdbc.fetch-size";
+
+	/**
+	 * Default maximum number of primary keys per delete statement
+	 */
+	private static final int DEFAULT_DELETE_CHUNK_SIZE = 1000;
+
 	/**
 	 * An underlying {@link EntityManager}
 	 */
 	protected final EntityManager em;
 
+	/**
+	 * Nesting depth of the current unit of work, {@code 0} means no unit of work
+	 */
+	private int unitOfWorkDepth;
+
+	/**
+	 * Number of written entities to flush after within the current unit of work,
+	 * {@code 0} means flushing only when the unit of work ends
+	 */
+	private int flushThreshold;
+
+	/**
+	 * Number of entities written since the last flush within the current unit of work
+	 */
+	private int pendingWrites;
+
+	/**
+	 * An {@link EntityManagerSource} used to obtain {@link EntityManager} instances apart
+	 * from the underlying one, {@code null} means created from its {@link EntityManagerFactory}
+	 */
+	private final EntityManagerSource source;
+
 	/**
 	 * Creates {@link JpaStandardManager} instance
 	 *
 	 * @param em an {@link EntityManager} instance
 	 */
 	public JpaStandardManager(EntityManager em) {
+		this(em, null);
+	}
+
+	/**
+	 * Creates {@link JpaStandardManager} instance, which obtains {@link EntityManager} instances
+	 * used apart from the specified {@code em} (by parallel and prefetching streams, publishers
+	 * and parallel deletion) from the specified {@code source}
+	 *
+	 * @param em     an {@link EntityManager} instance
+	 * @param source an {@link EntityManagerSource} used to obtain {@link EntityManager} instances
+	 *               apart from the {@code em}, {@code null} means created from its {@link EntityManagerFactory}
+	 */
+	public JpaStandardManager(EntityManager em, EntityManagerSource source) {
 		this.em = em;
+		this.source = source;
 	}
 
 	/**
@@ -152,6 +230,39 @@ public class JpaStandardManager implements JpaManager {
 		return StreamSupport.stream(new EntitySpliterator<>(query, chunkSize), false);
 	}
 
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass, StreamConfig config) {
+		return stream(entityClass, null, config);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code entityClass},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, keyset paging, adaptive chunk size and statistics options are applied
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(Class<T> entityClass, StreamConfig config) {
+		return chunkedPublisher(entityManager -> chunkLoader(entityManager, entityClass, null, config), config);
+	}
+
 	/**
 	 * Returns the generic result found by the specified {@code criteriaFunction} and
 	 * derived from applying the specified {@code resultFunction}
@@ -203,6 +314,65 @@ public class JpaStandardManager implements JpaManager {
 		return StreamSupport.stream(new EntitySpliterator<>(query, chunkSize), false);
 	}
 
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Keyset paging, parallel and sized streams are not supported, since they require an entity class
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param config           stream configuration object
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction, StreamConfig config) {
+		if (config.isSized()) {
+			throw new IllegalArgumentException("Sized streams are not supported for criteria function streams");
+		}
+		if (config.isCursor()) {
+			return cursorStream(em.createQuery(criteriaFunction.apply(em.getCriteriaBuilder())), config, -1);
+		}
+		if (config.isParallel()) {
+			throw new IllegalArgumentException("Parallel streams are not supported for criteria function streams");
+		}
+		if (config.isKeyset()) {
+			throw new IllegalArgumentException("Keyset paging is not supported for criteria function streams");
+		}
+		return chunkedStream(entityManager -> new OffsetChunkLoader<>(
+				entityManager.createQuery(criteriaFunction.apply(entityManager.getCriteriaBuilder()))
+		), config, -1);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code criteriaFunction},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, adaptive chunk size and statistics options are applied. Keyset
+	 * paging and parallel options are not supported, since they require an entity class
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param config           stream configuration object
+	 * @param <T>              type of an entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(CriteriaFunction<T> criteriaFunction, StreamConfig config) {
+		if (config.isParallel()) {
+			throw new IllegalArgumentException("Parallel streams are not supported for criteria function publishers");
+		}
+		if (config.isKeyset()) {
+			throw new IllegalArgumentException("Keyset paging is not supported for criteria function publishers");
+		}
+		return chunkedPublisher(entityManager -> new OffsetChunkLoader<>(
+				entityManager.createQuery(criteriaFunction.apply(entityManager.getCriteriaBuilder()))
+		), config);
+	}
+
 	/**
 	 * Returns the generic result found by the specified {@code specification} and
 	 * derived from applying the specified {@code resultFunction}
@@ -224,6 +394,69 @@ public class JpaStandardManager implements JpaManager {
 		return resultFunction.apply(query);
 	}
 
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification}
+	 *
+	 * @param specification a specification to find result
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification) {
+		TypedQuery<T> query = query(em, specification.getType(), specification::toPredicate);
+		return StreamSupport.stream(new EntitySpliterator<>(query), false);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param specification a specification to find result
+	 * @param chunkSize     size of chunk
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification, int chunkSize) {
+		TypedQuery<T> query = query(em, specification.getType(), specification::toPredicate);
+		return StreamSupport.stream(new EntitySpliterator<>(query, chunkSize), false);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param specification a specification to find result
+	 * @param config        stream configuration object
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification, StreamConfig config) {
+		return stream(specification.getType(), specification::toPredicate, config);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, keyset paging, adaptive chunk size and statistics options are applied
+	 *
+	 * @param specification a specification to find result
+	 * @param config        stream configuration object
+	 * @param <T>           type of an entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(Specification<T> specification, StreamConfig config) {
+		return chunkedPublisher(entityManager -> chunkLoader(
+				entityManager, specification.getType(), specification::toPredicate, config
+		), config);
+	}
+
 	/**
 	 * Executes query and returns the number of entities updated or deleted
 	 *
@@ -246,11 +479,43 @@ public class JpaStandardManager implements JpaManager {
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T> List<T> query(String sql, Class<T> entityClass) {
-		List<?> list = em.createNativeQuery(sql, entityClass)
+		return em.createNativeQuery(sql, entityClass)
 				.getResultList();
-		return list.stream()
-				.map(object -> (T) object)
-				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of raw {@code sql} query execution
+	 *
+	 * <p>
+	 * Entities are loaded chunk by chunk, thus the {@code sql} should define a stable order
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param <T>         type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(String sql, Class<T> entityClass) {
+		return stream(sql, entityClass, EntitySpliterator.DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of raw {@code sql} query execution,
+	 * which has the specified {@code chunkSize}
+	 *
+	 * <p>
+	 * Entities are loaded chunk by chunk, thus the {@code sql} should define a stable order
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param chunkSize   size of chunk
+	 * @param <T>         type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(String sql, Class<T> entityClass, int chunkSize) {
+		ChunkLoader<T> loader = new OffsetChunkLoader<>(em.createNativeQuery(sql, entityClass));
+		return StreamSupport.stream(new EntitySpliterator<>(loader, chunkSize), false);
 	}
 
 	/**
@@ -264,33 +529,31 @@ public class JpaStandardManager implements JpaManager {
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T> List<T> query(SpQuery<T> spQuery) {
-		StoredProcedureQuery query;
-
-		if (Objects.nonNull(spQuery.getResultClasses())) {
-			query = em.createStoredProcedureQuery(spQuery.getName(), spQuery.getResultClasses());
-		} else if (Objects.nonNull(spQuery.getResultMappings())) {
-			query = em.createStoredProcedureQuery(spQuery.getName(), spQuery.getResultMappings());
-		} else {
-			query = em.createStoredProcedureQuery(spQuery.getName());
-		}
-
-		spQuery.getParams()
-				.forEach(param -> {
-					if (param.getMode() == ParameterMode.REF_CURSOR) {
-						query.registerStoredProcedureParameter(param.getName(), void.class, ParameterMode.REF_CURSOR);
-					} else if (Objects.nonNull(param.getValue())) {
-						query.registerStoredProcedureParameter(
-								param.getName(), param.getValue().getClass(), param.getMode()
-						);
-						if (param.getMode() == ParameterMode.IN) {
-							query.setParameter(param.getName(), param.getValue());
-						}
-					}
-				});
-
+		StoredProcedureQuery query = storedProcedureQuery(spQuery);
 		return query.execute() ? (List<T>) query.getResultList() : Collections.emptyList();
 	}
 
+	/**
+	 * Returns the {@link Stream} of entities as a result of stored procedure execution
+	 * built from the specified {@code spQuery}
+	 *
+	 * <p>
+	 * Results are read via {@link javax.persistence.Query#getResultStream()}, thus providers
+	 * supporting it read {@link javax.persistence.ParameterMode#REF_CURSOR} results lazily, while
+	 * others load them in full when the procedure is executed. The stream should be closed
+	 * to release the underlying cursor
+	 *
+	 * @param spQuery stored procedure configuration object
+	 * @param <T>     type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> Stream<T> stream(SpQuery<T> spQuery) {
+		StoredProcedureQuery query = storedProcedureQuery(spQuery);
+		return query.execute() ? (Stream<T>) query.getResultStream() : Stream.empty();
+	}
+
 	/**
 	 * Returns the count of all entities with the specified {@code entityClass}
 	 *
@@ -326,6 +589,47 @@ public class JpaStandardManager implements JpaManager {
 		return query.getSingleResult();
 	}
 
+	/**
+	 * Returns {@code true} if any entity with the specified {@code entityClass} exists,
+	 * otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first entity
+	 *
+	 * @param entityClass a class of an entity
+	 * @param <T>         type of an entity
+	 * @return {@code true} if any entity exists, {@code false} otherwise
+	 */
+	@Override
+	public <T> boolean exists(Class<T> entityClass) {
+		return exists(entityClass, null);
+	}
+
+	/**
+	 * Returns {@code true} if any entity with the specified {@code entityClass} filtered
+	 * by the specified expression {@code function} exists, otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first matching entity
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return {@code true} if any filtered entity exists, {@code false} otherwise
+	 */
+	@Override
+	public <T> boolean exists(Class<T> entityClass, ExpressionFunction<T> function) {
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaQuery<Integer> criteriaQuery = builder.createQuery(Integer.class);
+		Root<T> root = criteriaQuery.from(entityClass);
+		criteriaQuery.select(builder.literal(1));
+		if (Objects.nonNull(function)) {
+			criteriaQuery.where(function.apply(builder, root));
+		}
+		TypedQuery<Integer> query = em.createQuery(criteriaQuery).setMaxResults(1);
+		return !query.getResultList().isEmpty();
+	}
+
 	/**
 	 * Inserts an entity object
 	 *
@@ -339,7 +643,7 @@ public class JpaStandardManager implements JpaManager {
 	@Override
 	public <T> T insert(T entity) {
 		em.persist(entity);
-		em.flush();
+		flush(1);
 		return entity;
 	}
 
@@ -356,10 +660,50 @@ public class JpaStandardManager implements JpaManager {
 	@Override
 	public <T> Collection<T> insert(Collection<T> entities) {
 		entities.forEach(em::persist);
-		em.flush();
+		flush(entities.size());
 		return entities;
 	}
 
+	/**
+	 * Inserts entities from the specified {@code entities} iterator in batches of
+	 * the specified {@code batchSize}
+	 *
+	 * <p>
+	 * The persistence context is flushed and cleared after each batch, thus at most one batch
+	 * of entities is managed at once and the whole input is never held in memory. Clearing
+	 * detaches all other managed entities as well. JDBC batching of the specified {@code batchSize}
+	 * is enabled for providers supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the number of inserted entities
+	 *
+	 * @param entities  an iterator of entities to insert
+	 * @param batchSize number of entities to insert per batch
+	 * @param <T>       type of an entity
+	 * @return number of inserted entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> long insert(Iterator<T> entities, int batchSize) {
+		requirePositiveBatchSize(batchSize);
+		Integer previousBatchSize = setJdbcBatchSize(em, batchSize);
+		try {
+			long count = 0;
+			while (entities.hasNext()) {
+				em.persist(entities.next());
+				if (++count % batchSize == 0) {
+					em.flush();
+					em.clear();
+				}
+			}
+			em.flush();
+			em.clear();
+			return count;
+		} finally {
+			setJdbcBatchSize(em, previousBatchSize);
+		}
+	}
+
 	/**
 	 * Updates the entity
 	 *
@@ -373,7 +717,7 @@ public class JpaStandardManager implements JpaManager {
 	@Override
 	public <T> T update(T entity) {
 		T merged = em.merge(entity);
-		em.flush();
+		flush(1);
 		return merged;
 	}
 
@@ -392,10 +736,60 @@ public class JpaStandardManager implements JpaManager {
 		Collection<T> merged = entities.stream()
 				.map(em::merge)
 				.collect(Collectors.toCollection(LinkedHashSet::new));
-		em.flush();
+		flush(entities.size());
 		return merged;
 	}
 
+	/**
+	 * Updates the collection of entities in batches of the specified {@code batchSize}
+	 *
+	 * <p>
+	 * Entities are merged batch by batch and the persistence context is flushed and cleared
+	 * after each batch, thus at most one batch of merged entities is managed at once. Clearing
+	 * detaches all other managed entities as well. JDBC batching of the specified {@code batchSize}
+	 * is enabled for providers supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the ordered list of updated entities, which are detached
+	 *
+	 * @param entities  the collection of entities to update
+	 * @param batchSize number of entities to update per batch
+	 * @param <T>       type of an entity
+	 * @return an ordered list of updated entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> List<T> update(Collection<T> entities, int batchSize) {
+		List<T> updated = new ArrayList<>(entities.size());
+		merge(entities.iterator(), batchSize, updated::add);
+		return updated;
+	}
+
+	/**
+	 * Updates entities from the specified {@code entities} iterator in batches of
+	 * the specified {@code batchSize}
+	 *
+	 * <p>
+	 * Entities are merged batch by batch and the persistence context is flushed and cleared
+	 * after each batch, thus at most one batch of merged entities is managed at once and neither
+	 * the input nor the merged entities are held in memory. Clearing detaches all other managed
+	 * entities as well. JDBC batching of the specified {@code batchSize} is enabled for providers
+	 * supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the number of updated entities
+	 *
+	 * @param entities  an iterator of entities to update
+	 * @param batchSize number of entities to update per batch
+	 * @param <T>       type of an entity
+	 * @return number of updated entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> long update(Iterator<T> entities, int batchSize) {
+		return merge(entities, batchSize, merged -> {});
+	}
+
 	/**
 	 * Deletes the entity
 	 *
@@ -405,7 +799,7 @@ public class JpaStandardManager implements JpaManager {
 	@Override
 	public <T> void delete(T entity) {
 		em.remove(entity);
-		em.flush();
+		flush(1);
 	}
 
 	/**
@@ -417,7 +811,274 @@ public class JpaStandardManager implements JpaManager {
 	@Override
 	public <T> void delete(Collection<T> entities) {
 		entities.forEach(em::remove);
-		em.flush();
+		flush(entities.size());
+	}
+
+	/**
+	 * Updates entities with the specified {@code entityClass} filtered by the specified
+	 * expression {@code function} with a single bulk statement, setting attributes with
+	 * the specified {@code updateFunction}
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not updated and
+	 * lifecycle callbacks are not invoked
+	 *
+	 * <p>
+	 * Returns the number of updated entities
+	 *
+	 * @param entityClass    a class of an entity
+	 * @param function       an {@link ExpressionFunction} to apply filter
+	 * @param updateFunction an {@link UpdateFunction} to set attributes
+	 * @param <T>            type of an entity
+	 * @return number of updated entities
+	 */
+	@Override
+	public <T> int update(Class<T> entityClass, ExpressionFunction<T> function, UpdateFunction<T> updateFunction) {
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaUpdate<T> criteriaUpdate = builder.createCriteriaUpdate(entityClass);
+		Root<T> root = criteriaUpdate.from(entityClass);
+		updateFunction.apply(criteriaUpdate, root).where(function.apply(builder, root));
+		return em.createQuery(criteriaUpdate).executeUpdate();
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} filtered by the specified
+	 * expression {@code function} with a single bulk statement
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T> int delete(Class<T> entityClass, ExpressionFunction<T> function) {
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaDelete<T> criteriaDelete = builder.createCriteriaDelete(entityClass);
+		Root<T> root = criteriaDelete.from(entityClass);
+		criteriaDelete.where(function.apply(builder, root));
+		return em.createQuery(criteriaDelete).executeUpdate();
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most 1000 primary keys each
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys) {
+		return deleteById(entityClass, primaryKeys, DEFAULT_DELETE_CHUNK_SIZE);
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each
+	 *
+	 * <p>
+	 * The {@code chunkSize} should be kept under the database limit of statement parameters.
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys, int chunkSize) {
+		String idAttribute = EntityUtils.getIdAttributeName(em, entityClass);
+		return chunks(primaryKeys, chunkSize).stream()
+				.mapToInt(chunk -> deleteById(em, entityClass, idAttribute, chunk))
+				.sum();
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each,
+	 * running the statements in parallel on the specified {@code executor}
+	 *
+	 * <p>
+	 * Each statement runs with its own {@link EntityManager} in its own resource local transaction,
+	 * thus the deletion is not atomic: if any statement fails, the not yet started ones are cancelled,
+	 * while the already committed ones remain. Entities are not loaded, thus the already managed
+	 * entities are not removed from the persistence context
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param executor    an {@link Executor} to run statements on
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys, int chunkSize, Executor executor) {
+		EntityManagerSource source = source();
+		String idAttribute = EntityUtils.getIdAttributeName(em, entityClass);
+		List<CompletableFuture<Integer>> futures = chunks(primaryKeys, chunkSize).stream()
+				.map(chunk -> TaskFuture.submit(executor, () -> {
+					EntityManager chunkEm = source.create();
+					EntityTransaction transaction = chunkEm.getTransaction();
+					try {
+						transaction.begin();
+						int deleted = deleteById(chunkEm, entityClass, idAttribute, chunk);
+						transaction.commit();
+						return deleted;
+					} finally {
+						try {
+							if (transaction.isActive()) {
+								transaction.rollback();
+							}
+						} finally {
+							source.close(chunkEm);
+						}
+					}
+				}))
+				.collect(Collectors.toList());
+		try {
+			return futures.stream()
+					.mapToInt(CompletableFuture::join)
+					.sum();
+		} catch (CompletionException e) {
+			futures.forEach(future -> future.cancel(true));
+			if (e.getCause() instanceof PersistenceException) {
+				throw (PersistenceException) e.getCause();
+			}
+			throw new PersistenceException("Failed to delete entities by primary keys", e.getCause());
+		}
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the unit of work ends
+	 *
+	 * <p>
+	 * Single and collection insert, update and delete operations invoked within the unit of work
+	 * do not flush the persistence context each, instead it is flushed once when the unit of work
+	 * ends successfully, thus the provider is able to batch the statements. A nested unit of work
+	 * joins the outer one. Queries may still flush the pending changes according to the
+	 * {@link javax.persistence.FlushModeType} of the underlying {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param supplier a supplier to run within the unit of work
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	@Override
+	public <R> R unitOfWork(Supplier<R> supplier) {
+		return unitOfWork(0, supplier);
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the specified {@code flushThreshold} number of entities
+	 * is written or the unit of work ends
+	 *
+	 * <p>
+	 * Single and collection insert, update and delete operations invoked within the unit of work
+	 * do not flush the persistence context each, instead it is flushed once the number of written
+	 * entities since the last flush reaches the {@code flushThreshold} and once more when the
+	 * unit of work ends successfully, thus the provider is able to batch the statements, while
+	 * the number of pending changes stays bounded. A nested unit of work joins the outer one,
+	 * keeping the outer {@code flushThreshold}
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param flushThreshold number of written entities to flush after, {@code 0} means
+	 *                       flushing only when the unit of work ends
+	 * @param supplier       a supplier to run within the unit of work
+	 * @param <R>            type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	@Override
+	public <R> R unitOfWork(int flushThreshold, Supplier<R> supplier) {
+		if (unitOfWorkDepth++ == 0) {
+			this.flushThreshold = flushThreshold;
+			this.pendingWrites = 0;
+		}
+		try {
+			R result = supplier.get();
+			if (unitOfWorkDepth == 1 && pendingWrites > 0) {
+				em.flush();
+				pendingWrites = 0;
+			}
+			return result;
+		} finally {
+			unitOfWorkDepth--;
+		}
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a resource local transaction, thus all entity
+	 * write operations invoked within it are committed at once
+	 *
+	 * <p>
+	 * Begins a new transaction and commits it when the {@code supplier} completes, or rolls it back
+	 * if the {@code supplier} fails. A nested transaction scope joins the already active transaction,
+	 * marking it for rollback only if the nested {@code supplier} fails, thus the outermost scope fails
+	 * to commit even if it handles the failure
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param supplier a supplier to run within the transaction
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 * @throws javax.persistence.RollbackException if the transaction is marked for rollback only
+	 *                                             or fails to commit
+	 */
+	@Override
+	public <R> R inTransaction(Supplier<R> supplier) {
+		EntityTransaction transaction = em.getTransaction();
+		if (transaction.isActive()) {
+			try {
+				return supplier.get();
+			} catch (Throwable e) {
+				if (transaction.isActive()) {
+					transaction.setRollbackOnly();
+				}
+				throw e;
+			}
+		}
+		transaction.begin();
+		try {
+			R result = supplier.get();
+			transaction.commit();
+			return result;
+		} finally {
+			if (transaction.isActive()) {
+				transaction.rollback();
+			}
+		}
 	}
 
 	/**
@@ -474,4 +1135,373 @@ public class JpaStandardManager implements JpaManager {
 		return em;
 	}
 
+	/**
+	 * Returns the underlying {@link EntityManagerFactory}
+	 *
+	 * <p>
+	 * Unlike {@link #em()}, available regardless of whether an {@link EntityManager} is bound
+	 *
+	 * @return underlying {@link EntityManagerFactory} instance
+	 */
+	@Override
+	public EntityManagerFactory emf() {
+		return em.getEntityManagerFactory();
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass},
+	 * filtered by the specified expression {@code function} and configured with the specified
+	 * stream {@code config}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param function    an {@link ExpressionFunction} to apply filter, may be {@code null}
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	private <T> Stream<T> stream(Class<T> entityClass, ExpressionFunction<T> function, StreamConfig config) {
+		long size = -1;
+		if (config.isSized() && !config.isParallel()) {
+			size = Objects.isNull(function) ? count(entityClass) : count(entityClass, function);
+		}
+		if (config.isCursor()) {
+			return cursorStream(query(em, entityClass, function), config, size);
+		}
+		if (config.isParallel()) {
+			RangeEntitySpliterator<T> spliterator = RangeEntitySpliterator.of(
+					em, source(), entityClass, function, keysetAttribute(em, entityClass, config), config.getChunkSize(),
+					Objects.requireNonNullElseGet(config.getStatistics(), StreamStatistics::new)
+			);
+			return StreamSupport.stream(spliterator, true).onClose(spliterator::close);
+		}
+		return chunkedStream(entityManager -> chunkLoader(entityManager, entityClass, function, config), config, size);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results loaded chunk by chunk with {@link ChunkLoader}
+	 * created by the specified {@code loaderFactory} and configured with the specified
+	 * stream {@code config}
+	 *
+	 * @param loaderFactory a function, which creates {@link ChunkLoader} from {@link EntityManager}
+	 * @param config        stream configuration object
+	 * @param size          exact number of results, negative if unknown
+	 * @param <T>           type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	private <T> Stream<T> chunkedStream(Function<EntityManager, ChunkLoader<T>> loaderFactory,
+	                                    StreamConfig config, long size) {
+		StreamStatistics statistics = Objects.requireNonNullElseGet(config.getStatistics(), StreamStatistics::new);
+		Function<EntityManager, ChunkLoader<T>> factory = adaptive(loaderFactory, config, statistics);
+		if (config.getPrefetch() > 0) {
+			PrefetchingChunkLoader<T> loader = new PrefetchingChunkLoader<>(
+					source(), factory,
+					config.getChunkSize(), config.getPrefetch(), config.getExecutor()
+			);
+			ChunkLoader<T> statisticsLoader = new StatisticsChunkLoader<>(loader, statistics, false);
+			return StreamSupport.stream(new EntitySpliterator<>(statisticsLoader, config.getChunkSize(), size), false)
+					.onClose(loader::close);
+		}
+		ChunkLoader<T> loader = new StatisticsChunkLoader<>(factory.apply(em), statistics, true);
+		if (config.isDetach()) {
+			DetachingChunkLoader<T> detachingLoader = new DetachingChunkLoader<>(em, loader, config.isClear(), statistics);
+			return StreamSupport.stream(new EntitySpliterator<>(detachingLoader, config.getChunkSize(), size), false)
+					.onClose(detachingLoader::close);
+		}
+		return StreamSupport.stream(new EntitySpliterator<>(loader, config.getChunkSize(), size), false);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results loaded chunk by chunk with {@link ChunkLoader}
+	 * created by the specified {@code loaderFactory} and configured with the specified
+	 * stream {@code config}
+	 *
+	 * @param loaderFactory a function, which creates {@link ChunkLoader} from {@link EntityManager}
+	 * @param config        stream configuration object
+	 * @param <T>           type of the searched entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	private <T> Flow.Publisher<T> chunkedPublisher(Function<EntityManager, ChunkLoader<T>> loaderFactory,
+	                                               StreamConfig config) {
+		StreamStatistics statistics = Objects.requireNonNullElseGet(config.getStatistics(), StreamStatistics::new);
+		Function<EntityManager, ChunkLoader<T>> factory = adaptive(loaderFactory, config, statistics);
+		return new ChunkPublisher<>(
+				source(),
+				entityManager -> new StatisticsChunkLoader<>(factory.apply(entityManager), statistics, false),
+				config.getChunkSize(), config.getExecutor()
+		);
+	}
+
+	/**
+	 * Returns the {@link EntityManagerSource} used to obtain {@link EntityManager} instances
+	 * apart from the underlying one
+	 *
+	 * @return {@link EntityManagerSource} instance
+	 */
+	private EntityManagerSource source() {
+		return Objects.nonNull(source) ? source : EntityManagerSource.of(em.getEntityManagerFactory());
+	}
+
+	/**
+	 * Returns the function, which creates {@link ChunkLoader} adapting size of a chunk if configured
+	 * with the specified stream {@code config}, otherwise returns the specified {@code loaderFactory}
+	 *
+	 * @param loaderFactory a function, which creates {@link ChunkLoader} from {@link EntityManager}
+	 * @param config        stream configuration object
+	 * @param statistics    {@link StreamStatistics} to record the chosen size of a chunk into
+	 * @param <T>           type of the searched entity
+	 * @return a function, which creates {@link ChunkLoader} from {@link EntityManager}
+	 */
+	private static <T> Function<EntityManager, ChunkLoader<T>> adaptive(
+			Function<EntityManager, ChunkLoader<T>> loaderFactory, StreamConfig config, StreamStatistics statistics) {
+		if (!config.isAdaptive()) return loaderFactory;
+
+		return entityManager -> new AdaptiveChunkLoader<>(loaderFactory.apply(entityManager), config.getChunkSize(),
+				config.getMinChunkSize(), config.getMaxChunkSize(), config.getTargetLatency(), statistics);
+	}
+
+	/**
+	 * Returns the {@link ChunkLoader} of entities with the specified {@code entityClass},
+	 * filtered by the specified expression {@code function} and configured with the specified
+	 * stream {@code config}
+	 *
+	 * @param em          an {@link EntityManager} to load chunks with
+	 * @param entityClass a class of a searched entity
+	 * @param function    an {@link ExpressionFunction} to apply filter, may be {@code null}
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link ChunkLoader} of entities
+	 */
+	private static <T> ChunkLoader<T> chunkLoader(EntityManager em, Class<T> entityClass,
+	                                              ExpressionFunction<T> function, StreamConfig config) {
+		if (config.isKeyset()) {
+			return new KeysetChunkLoader<>(em, entityClass, function, keysetAttribute(em, entityClass, config));
+		}
+		return new OffsetChunkLoader<>(query(em, entityClass, function));
+	}
+
+	/**
+	 * Returns the {@link TypedQuery} of entities with the specified {@code entityClass},
+	 * filtered by the specified expression {@code function}
+	 *
+	 * @param em          an {@link EntityManager} to create query with
+	 * @param entityClass a class of a searched entity
+	 * @param function    an {@link ExpressionFunction} to apply filter, may be {@code null}
+	 * @param <T>         type of the searched entity
+	 * @return {@link TypedQuery} of entities
+	 */
+	private static <T> TypedQuery<T> query(EntityManager em, Class<T> entityClass, ExpressionFunction<T> function) {
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaQuery<T> criteriaQuery = builder.createQuery(entityClass);
+		Root<T> root = criteriaQuery.from(entityClass);
+		criteriaQuery.select(root);
+		if (Objects.nonNull(function)) {
+			criteriaQuery.where(function.apply(builder, root));
+		}
+		return em.createQuery(criteriaQuery);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results read over a single provider cursor
+	 * of the specified {@code query}
+	 *
+	 * <p>
+	 * The fetch size configured with the specified stream {@code config} is passed as
+	 * provider specific query hints, which are ignored by other providers. Closing the returned
+	 * stream releases the underlying cursor
+	 *
+	 * @param query  a query to read results of
+	 * @param config stream configuration object
+	 * @param size   exact number of results, negative if unknown
+	 * @param <T>    type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	private static <T> Stream<T> cursorStream(TypedQuery<T> query, StreamConfig config, long size) {
+		if (config.getFetchSize() > 0) {
+			query.setHint(HIBERNATE_FETCH_SIZE_HINT, config.getFetchSize());
+			query.setHint(ECLIPSELINK_FETCH_SIZE_HINT, config.getFetchSize());
+		}
+		Stream<T> stream = query.getResultStream();
+		if (size < 0) return stream;
+
+		Spliterator<T> spliterator = Spliterators.spliterator(stream.limit(size).iterator(), size, Spliterator.ORDERED);
+		return StreamSupport.stream(spliterator, false).onClose(stream::close);
+	}
+
+	/**
+	 * Returns a name of the keyset paging attribute configured with the specified
+	 * stream {@code config} or the primary key attribute name if not configured
+	 *
+	 * @param em          an {@link EntityManager} to obtain the metamodel from
+	 * @param entityClass a class of an entity
+	 * @param config      stream configuration object
+	 * @return a name of the keyset paging attribute
+	 */
+	private static String keysetAttribute(EntityManager em, Class<?> entityClass, StreamConfig config) {
+		return Objects.nonNull(config.getKeysetAttribute())
+				? config.getKeysetAttribute()
+				: EntityUtils.getIdAttributeName(em, entityClass);
+	}
+
+	/**
+	 * Creates {@link StoredProcedureQuery} from the specified {@link SpQuery}
+	 *
+	 * @param spQuery {@link SpQuery} object, containing stored procedure attributes
+	 * @param <T>     type of the result entities
+	 * @return created {@link StoredProcedureQuery}
+	 */
+	private <T> StoredProcedureQuery storedProcedureQuery(SpQuery<T> spQuery) {
+		StoredProcedureQuery query;
+
+		if (Objects.nonNull(spQuery.getResultClasses())) {
+			query = em.createStoredProcedureQuery(spQuery.getName(), spQuery.getResultClasses());
+		} else if (Objects.nonNull(spQuery.getResultMappings())) {
+			query = em.createStoredProcedureQuery(spQuery.getName(), spQuery.getResultMappings());
+		} else {
+			query = em.createStoredProcedureQuery(spQuery.getName());
+		}
+
+		spQuery.getParams()
+				.forEach(param -> {
+					if (param.getMode() == ParameterMode.REF_CURSOR) {
+						query.registerStoredProcedureParameter(param.getName(), void.class, ParameterMode.REF_CURSOR);
+					} else if (Objects.nonNull(param.getValue())) {
+						query.registerStoredProcedureParameter(
+								param.getName(), param.getValue().getClass(), param.getMode()
+						);
+						if (param.getMode() == ParameterMode.IN) {
+							query.setParameter(param.getName(), param.getValue());
+						}
+					}
+				});
+
+		return query;
+	}
+
+	/**
+	 * Sets JDBC batch size of the specified {@link EntityManager} if supported by the provider
+	 *
+	 * <p>
+	 * Supports Hibernate sessions, other providers are left unchanged
+	 *
+	 * @param em        an {@link EntityManager} to set JDBC batch size of
+	 * @param batchSize JDBC batch size, {@code null} means provider default
+	 * @return the previous JDBC batch size or {@code null} if not set or not supported
+	 */
+	private static Integer setJdbcBatchSize(EntityManager em, Integer batchSize) {
+		Object delegate = em.getDelegate();
+		try {
+			Integer previous = (Integer) delegate.getClass().getMethod("getJdbcBatchSize").invoke(delegate);
+			delegate.getClass().getMethod("setJdbcBatchSize", Integer.class).invoke(delegate, batchSize);
+			return previous;
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with a single bulk {@code IN} list statement
+	 *
+	 * @param em          an {@link EntityManager} to execute statement with
+	 * @param entityClass a class of an entity
+	 * @param idAttribute a name of the primary key attribute
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	private static <T, K> int deleteById(EntityManager em, Class<T> entityClass, String idAttribute,
+	                                     Collection<K> primaryKeys) {
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaDelete<T> criteriaDelete = builder.createCriteriaDelete(entityClass);
+		Root<T> root = criteriaDelete.from(entityClass);
+		criteriaDelete.where(root.get(idAttribute).in(primaryKeys));
+		return em.createQuery(criteriaDelete).executeUpdate();
+	}
+
+	/**
+	 * Splits the specified {@code elements} into chunks of at most the specified {@code chunkSize}
+	 *
+	 * @param elements  a collection of elements to split
+	 * @param chunkSize maximum size of a chunk
+	 * @param <E>       type of an element
+	 * @return a list of chunks
+	 * @throws IllegalArgumentException if the {@code chunkSize} is not positive
+	 */
+	static <E> List<List<E>> chunks(Collection<E> elements, int chunkSize) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+		}
+		List<E> list = new ArrayList<>(elements);
+		List<List<E>> chunks = new ArrayList<>();
+		for (int from = 0; from < list.size(); from += chunkSize) {
+			chunks.add(list.subList(from, Math.min(from + chunkSize, list.size())));
+		}
+		return chunks;
+	}
+
+	/**
+	 * Merges entities from the specified {@code entities} iterator in batches of
+	 * the specified {@code batchSize}, flushing and clearing the persistence context
+	 * after each batch
+	 *
+	 * @param entities  an iterator of entities to merge
+	 * @param batchSize number of entities to merge per batch
+	 * @param consumer  a consumer of merged entities
+	 * @param <T>       type of an entity
+	 * @return number of merged entities
+	 */
+	private <T> long merge(Iterator<T> entities, int batchSize, Consumer<T> consumer) {
+		requirePositiveBatchSize(batchSize);
+		Integer previousBatchSize = setJdbcBatchSize(em, batchSize);
+		try {
+			long count = 0;
+			while (entities.hasNext()) {
+				consumer.accept(em.merge(entities.next()));
+				if (++count % batchSize == 0) {
+					em.flush();
+					em.clear();
+				}
+			}
+			em.flush();
+			em.clear();
+			return count;
+		} finally {
+			setJdbcBatchSize(em, previousBatchSize);
+		}
+	}
+
+	/**
+	 * Flushes the persistence context after the specified number of written entities
+	 *
+	 * <p>
+	 * Flushes right away outside of a unit of work, otherwise defers flushing until
+	 * the flush threshold is reached or the unit of work ends
+	 *
+	 * @param writes number of written entities
+	 */
+	private void flush(int writes) {
+		if (unitOfWorkDepth == 0) {
+			em.flush();
+			return;
+		}
+		pendingWrites += writes;
+		if (flushThreshold > 0 && pendingWrites >= flushThreshold) {
+			em.flush();
+			pendingWrites = 0;
+		}
+	}
+
+	/**
+	 * Checks the specified {@code batchSize} is positive
+	 *
+	 * @param batchSize number of entities per batch
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	private static void requirePositiveBatchSize(int batchSize) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+		}
+	}
+
 }
@@ -0,0 +1,1107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.manager;
+
+import com.scalified.jpa.commons.EntityUtils;
+import com.scalified.jpa.function.CriteriaFunction;
+import com.scalified.jpa.function.ExpressionFunction;
+import com.scalified.jpa.function.ResultFunction;
+import com.scalified.jpa.function.UpdateFunction;
+import com.scalified.jpa.sp.SpQuery;
+import com.scalified.jpa.specification.Specification;
+import com.scalified.jpa.stream.StreamConfig;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A {@link JpaManager} decorator, which adds striped locking support
+ * for entity write operations
+ *
+ * <p>
+ * Unlike {@link JpaSynchronizedManager}, which serializes all write operations, write operations
+ * on entities of unrelated classes proceed in parallel. Locks are striped by the root entity class
+ * of the inheritance hierarchy and by the primary key within it:
+ * <ul>
+ *     <li>single entity operations lock the stripe of the entity primary key, shared with other
+ *     single entity operations on the same entity class</li>
+ *     <li>collection operations and bulk operations of an entity class lock the entity class stripes
+ *     exclusively</li>
+ *     <li>raw SQL queries, iterator operations and units of work, which may touch any entity class,
+ *     lock all stripes exclusively</li>
+ * </ul>
+ * Unrelated entity classes or primary keys may share a stripe, in which case their write operations
+ * are serialized
+ *
+ * <p>
+ * The decorated {@link JpaManager} must be safe for concurrent use, for example backed by a container
+ * managed {@link EntityManager}, which binds a persistence context per transaction. A single application
+ * managed {@link EntityManager} is not thread safe and requires {@link JpaSynchronizedManager} instead
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class JpaStripedManager implements JpaManager {
+
+	/**
+	 * Default number of lock stripes
+	 */
+	private static final int DEFAULT_STRIPES = 64;
+
+	/**
+	 * An underlying {@link JpaManager}
+	 */
+	protected final JpaManager manager;
+
+	/**
+	 * A lock shared by all striped operations and held exclusively by operations on all entity classes
+	 */
+	private final ReadWriteLock globalLock = new ReentrantReadWriteLock();
+
+	/**
+	 * Locks striped by the root entity class
+	 */
+	private final ReadWriteLock[] classLocks;
+
+	/**
+	 * Locks striped by the root entity class and primary key
+	 */
+	private final Lock[] primaryKeyLocks;
+
+	/**
+	 * Root entity classes cached per entity class
+	 */
+	private final ClassValue<Class<?>> rootEntityClasses = new ClassValue<>() {
+		@Override
+		protected Class<?> computeValue(Class<?> type) {
+			return EntityUtils.getRootEntityClass(manager.emf().getMetamodel(), type);
+		}
+	};
+
+	/**
+	 * Creates {@link JpaStripedManager} instance with the default number of lock stripes
+	 *
+	 * @param manager an {@link JpaManager} to decorate
+	 */
+	public JpaStripedManager(JpaManager manager) {
+		this(manager, DEFAULT_STRIPES);
+	}
+
+	/**
+	 * Creates {@link JpaStripedManager} instance
+	 *
+	 * @param manager an {@link JpaManager} to decorate
+	 * @param stripes number of lock stripes per entity classes and per primary keys
+	 */
+	public JpaStripedManager(JpaManager manager, int stripes) {
+		this.manager = manager;
+		this.classLocks = new ReadWriteLock[stripes];
+		this.primaryKeyLocks = new Lock[stripes];
+		for (int i = 0; i < stripes; i++) {
+			this.classLocks[i] = new ReentrantReadWriteLock();
+			this.primaryKeyLocks[i] = new ReentrantLock();
+		}
+	}
+
+	/**
+	 * Returns an entity found by its {@code primaryKey}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param primaryKey  a primary key of a searched entity
+	 * @param <T>         type of a searched entity
+	 * @param <K>         type of a primary key of a searched entity
+	 * @return entity object
+	 */
+	@Override
+	public <T, K> T find(Class<T> entityClass, K primaryKey) {
+		return manager.find(entityClass, primaryKey);
+	}
+
+	/**
+	 * Returns the {@link List} of all generic results found by the specified
+	 * {@code entityClass}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param <T>         type of the searched entity
+	 * @return {@link List} of all generic results
+	 */
+	@Override
+	public <T> List<T> find(Class<T> entityClass) {
+		return manager.find(entityClass);
+	}
+
+	/**
+	 * Returns the generic result found by the specified {@code entityClass}
+	 * and derived from applying the specified {@code resultFunction}
+	 *
+	 * @param entityClass    a class of a searched entity
+	 * @param resultFunction a function, which maps {@link CriteriaBuilder}
+	 *                       to a generic result
+	 * @param <T>            type of an entity
+	 * @param <R>            type of the result
+	 * @return generic result object
+	 */
+	@Override
+	public <T, R> R find(Class<T> entityClass, ResultFunction<T, R> resultFunction) {
+		return manager.find(entityClass, resultFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass) {
+		return manager.stream(entityClass);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param chunkSize   size of chunk
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass, int chunkSize) {
+		return manager.stream(entityClass, chunkSize);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code entityClass},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Class<T> entityClass, StreamConfig config) {
+		return manager.stream(entityClass, config);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code entityClass},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, keyset paging, adaptive chunk size and statistics options are applied
+	 *
+	 * @param entityClass a class of a searched entity
+	 * @param config      stream configuration object
+	 * @param <T>         type of the searched entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(Class<T> entityClass, StreamConfig config) {
+		return manager.publisher(entityClass, config);
+	}
+
+	/**
+	 * Returns the generic result found by the specified {@code criteriaFunction} and
+	 * derived from applying the specified {@code resultFunction}
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param resultFunction   a function, which maps {@link CriteriaBuilder}
+	 *                         to a generic result
+	 * @param <T>              type of an entity
+	 * @param <R>              type of the result
+	 * @return generic result object
+	 */
+	@Override
+	public <T, R> R find(CriteriaFunction<T> criteriaFunction, ResultFunction<T, R> resultFunction) {
+		return manager.find(criteriaFunction, resultFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction}
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction) {
+		return manager.stream(criteriaFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param chunkSize        size of chunk
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction, int chunkSize) {
+		return manager.stream(criteriaFunction, chunkSize);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code criteriaFunction},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Keyset paging, parallel and sized streams are not supported, since they require an entity class
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param config           stream configuration object
+	 * @param <T>              type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(CriteriaFunction<T> criteriaFunction, StreamConfig config) {
+		return manager.stream(criteriaFunction, config);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code criteriaFunction},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, adaptive chunk size and statistics options are applied. Keyset
+	 * paging and parallel options are not supported, since they require an entity class
+	 *
+	 * @param criteriaFunction a function to find result
+	 * @param config           stream configuration object
+	 * @param <T>              type of an entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(CriteriaFunction<T> criteriaFunction, StreamConfig config) {
+		return manager.publisher(criteriaFunction, config);
+	}
+
+	/**
+	 * Returns the generic result found by the specified {@code specification} and
+	 * derived from applying the specified {@code resultFunction}
+	 *
+	 * @param specification  a specification to find result
+	 * @param resultFunction a function, which maps {@link CriteriaBuilder}
+	 *                       to a generic result
+	 * @param <T>            type of an entity
+	 * @param <R>            type of the result
+	 * @return generic result object
+	 */
+	@Override
+	public <T, R> R find(Specification<T> specification, ResultFunction<T, R> resultFunction) {
+		return manager.find(specification, resultFunction);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification}
+	 *
+	 * @param specification a specification to find result
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification) {
+		return manager.stream(specification);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification},
+	 * which has the specified {@code chunkSize}
+	 *
+	 * @param specification a specification to find result
+	 * @param chunkSize     size of chunk
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification, int chunkSize) {
+		return manager.stream(specification, chunkSize);
+	}
+
+	/**
+	 * Returns the {@link Stream} of generic results found by the specified {@code specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * @param specification a specification to find result
+	 * @param config        stream configuration object
+	 * @param <T>           type of an entity
+	 * @return {@link Stream} of generic results
+	 */
+	@Override
+	public <T> Stream<T> stream(Specification<T> specification, StreamConfig config) {
+		return manager.stream(specification, config);
+	}
+
+	/**
+	 * Returns the {@link Flow.Publisher} of generic results found by the specified {@code specification},
+	 * which is configured with the specified stream {@code config}
+	 *
+	 * <p>
+	 * Chunks are loaded only when subscribers request entities, each subscription using its own
+	 * {@link EntityManager} on the {@link StreamConfig#getExecutor()}, thus the published entities
+	 * are detached. Chunk size, keyset paging, adaptive chunk size and statistics options are applied
+	 *
+	 * @param specification a specification to find result
+	 * @param config        stream configuration object
+	 * @param <T>           type of an entity
+	 * @return {@link Flow.Publisher} of generic results
+	 */
+	@Override
+	public <T> Flow.Publisher<T> publisher(Specification<T> specification, StreamConfig config) {
+		return manager.publisher(specification, config);
+	}
+
+	/**
+	 * Returns the list of entities as a result of raw {@code sql} query execution
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param <T>         type of the result
+	 * @return the list of entities
+	 */
+	@Override
+	public <T> List<T> query(String sql, Class<T> entityClass) {
+		return manager.query(sql, entityClass);
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of raw {@code sql} query execution
+	 *
+	 * <p>
+	 * Entities are loaded chunk by chunk, thus the {@code sql} should define a stable order
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param <T>         type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(String sql, Class<T> entityClass) {
+		return manager.stream(sql, entityClass);
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of raw {@code sql} query execution,
+	 * which has the specified {@code chunkSize}
+	 *
+	 * <p>
+	 * Entities are loaded chunk by chunk, thus the {@code sql} should define a stable order
+	 *
+	 * @param sql         raw SQL query
+	 * @param entityClass type of the result entities
+	 * @param chunkSize   size of chunk
+	 * @param <T>         type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(String sql, Class<T> entityClass, int chunkSize) {
+		return manager.stream(sql, entityClass, chunkSize);
+	}
+
+	/**
+	 * Executes query and returns the number of entities updated or deleted
+	 *
+	 * @param sql raw SQL query
+	 * @return number of entities updated or deleted
+	 */
+	@Override
+	public int query(String sql) {
+		return withGlobalLock(() -> manager.query(sql));
+	}
+
+	/**
+	 * Returns the list of entities as a result of stored procedure execution
+	 * built from the specified {@code spQuery}
+	 *
+	 * @param spQuery stored procedure configuration object
+	 * @param <T>     type of the result
+	 * @return the list of entities
+	 */
+	@Override
+	public <T> List<T> query(SpQuery<T> spQuery) {
+		return manager.query(spQuery);
+	}
+
+	/**
+	 * Returns the {@link Stream} of entities as a result of stored procedure execution
+	 * built from the specified {@code spQuery}
+	 *
+	 * <p>
+	 * Results are read via {@link javax.persistence.Query#getResultStream()}, thus providers
+	 * supporting it read {@link javax.persistence.ParameterMode#REF_CURSOR} results lazily, while
+	 * others load them in full when the procedure is executed. The stream should be closed
+	 * to release the underlying cursor
+	 *
+	 * @param spQuery stored procedure configuration object
+	 * @param <T>     type of the result
+	 * @return {@link Stream} of entities
+	 */
+	@Override
+	public <T> Stream<T> stream(SpQuery<T> spQuery) {
+		return manager.stream(spQuery);
+	}
+
+	/**
+	 * Returns the count of all entities with the specified {@code entityClass}
+	 *
+	 * @param entityClass a class of an entity
+	 * @param <T>         type of an entity
+	 * @return count of all entities
+	 */
+	@Override
+	public <T> long count(Class<T> entityClass) {
+		return manager.count(entityClass);
+	}
+
+	/**
+	 * Returns the count of entities with the specified {@code entityClass} filtered
+	 * by the specified expression {@code function}
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return count of filtered entities
+	 */
+	@Override
+	public <T> long count(Class<T> entityClass, ExpressionFunction<T> function) {
+		return manager.count(entityClass, function);
+	}
+
+	/**
+	 * Returns {@code true} if any entity with the specified {@code entityClass} exists,
+	 * otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first entity
+	 *
+	 * @param entityClass a class of an entity
+	 * @param <T>         type of an entity
+	 * @return {@code true} if any entity exists, {@code false} otherwise
+	 */
+	@Override
+	public <T> boolean exists(Class<T> entityClass) {
+		return manager.exists(entityClass);
+	}
+
+	/**
+	 * Returns {@code true} if any entity with the specified {@code entityClass} filtered
+	 * by the specified expression {@code function} exists, otherwise returns {@code false}
+	 *
+	 * <p>
+	 * Selects a constant limited to a single row, thus the database stops at the first matching entity
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return {@code true} if any filtered entity exists, {@code false} otherwise
+	 */
+	@Override
+	public <T> boolean exists(Class<T> entityClass, ExpressionFunction<T> function) {
+		return manager.exists(entityClass, function);
+	}
+
+	/**
+	 * Inserts an entity object
+	 *
+	 * <p>
+	 * Returns the inserted entity object
+	 *
+	 * @param entity an entity object to insert
+	 * @param <T>    type of an entity
+	 * @return inserted entity object
+	 */
+	@Override
+	public <T> T insert(T entity) {
+		return withEntityLock(entity, () -> manager.insert(entity));
+	}
+
+	/**
+	 * Inserts the collection of entities
+	 *
+	 * <p>
+	 * Returns the collection of inserted entities
+	 *
+	 * @param entities a collection of entities to insert
+	 * @param <T>      type of an entity
+	 * @return a collection of inserted entities
+	 */
+	@Override
+	public <T> Collection<T> insert(Collection<T> entities) {
+		return withEntitiesLock(entities, () -> manager.insert(entities));
+	}
+
+	/**
+	 * Inserts entities from the specified {@code entities} iterator in batches of
+	 * the specified {@code batchSize}
+	 *
+	 * <p>
+	 * The persistence context is flushed and cleared after each batch, thus at most one batch
+	 * of entities is managed at once and the whole input is never held in memory. Clearing
+	 * detaches all other managed entities as well. JDBC batching of the specified {@code batchSize}
+	 * is enabled for providers supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the number of inserted entities
+	 *
+	 * @param entities  an iterator of entities to insert
+	 * @param batchSize number of entities to insert per batch
+	 * @param <T>       type of an entity
+	 * @return number of inserted entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> long insert(Iterator<T> entities, int batchSize) {
+		return withGlobalLock(() -> manager.insert(entities, batchSize));
+	}
+
+	/**
+	 * Updates the entity
+	 *
+	 * <p>
+	 * Returns the updated entity
+	 *
+	 * @param entity an entity object to update
+	 * @param <T>    type of an entity
+	 * @return updated entity object
+	 */
+	@Override
+	public <T> T update(T entity) {
+		return withEntityLock(entity, () -> manager.update(entity));
+	}
+
+	/**
+	 * Updates the collection of entities
+	 *
+	 * <p>
+	 * Returns the collection of updated entities
+	 *
+	 * @param entities the collection of updated entities
+	 * @param <T>      type of an entity
+	 * @return a collection of updated entities
+	 */
+	@Override
+	public <T> Collection<T> update(Collection<T> entities) {
+		return withEntitiesLock(entities, () -> manager.update(entities));
+	}
+
+	/**
+	 * Updates the collection of entities in batches of the specified {@code batchSize}
+	 *
+	 * <p>
+	 * Entities are merged batch by batch and the persistence context is flushed and cleared
+	 * after each batch, thus at most one batch of merged entities is managed at once. Clearing
+	 * detaches all other managed entities as well. JDBC batching of the specified {@code batchSize}
+	 * is enabled for providers supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the ordered list of updated entities, which are detached
+	 *
+	 * @param entities  the collection of entities to update
+	 * @param batchSize number of entities to update per batch
+	 * @param <T>       type of an entity
+	 * @return an ordered list of updated entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> List<T> update(Collection<T> entities, int batchSize) {
+		return withEntitiesLock(entities, () -> manager.update(entities, batchSize));
+	}
+
+	/**
+	 * Updates entities from the specified {@code entities} iterator in batches of
+	 * the specified {@code batchSize}
+	 *
+	 * <p>
+	 * Entities are merged batch by batch and the persistence context is flushed and cleared
+	 * after each batch, thus at most one batch of merged entities is managed at once and neither
+	 * the input nor the merged entities are held in memory. Clearing detaches all other managed
+	 * entities as well. JDBC batching of the specified {@code batchSize} is enabled for providers
+	 * supporting it per {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the number of updated entities
+	 *
+	 * @param entities  an iterator of entities to update
+	 * @param batchSize number of entities to update per batch
+	 * @param <T>       type of an entity
+	 * @return number of updated entities
+	 * @throws IllegalArgumentException if the {@code batchSize} is not positive
+	 */
+	@Override
+	public <T> long update(Iterator<T> entities, int batchSize) {
+		return withGlobalLock(() -> manager.update(entities, batchSize));
+	}
+
+	/**
+	 * Deletes the entity
+	 *
+	 * @param entity an entity object to delete
+	 * @param <T>    type of an entity
+	 */
+	@Override
+	public <T> void delete(T entity) {
+		withEntityLock(entity, () -> {
+			manager.delete(entity);
+			return null;
+		});
+	}
+
+	/**
+	 * Deletes the collection of entities
+	 *
+	 * @param entities the collection of entities to delete
+	 * @param <T>      type of an entity
+	 */
+	@Override
+	public <T> void delete(Collection<T> entities) {
+		withEntitiesLock(entities, () -> {
+			manager.delete(entities);
+			return null;
+		});
+	}
+
+	/**
+	 * Updates entities with the specified {@code entityClass} filtered by the specified
+	 * expression {@code function} with a single bulk statement, setting attributes with
+	 * the specified {@code updateFunction}
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not updated and
+	 * lifecycle callbacks are not invoked
+	 *
+	 * <p>
+	 * Returns the number of updated entities
+	 *
+	 * @param entityClass    a class of an entity
+	 * @param function       an {@link ExpressionFunction} to apply filter
+	 * @param updateFunction an {@link UpdateFunction} to set attributes
+	 * @param <T>            type of an entity
+	 * @return number of updated entities
+	 */
+	@Override
+	public <T> int update(Class<T> entityClass, ExpressionFunction<T> function, UpdateFunction<T> updateFunction) {
+		return withClassLock(entityClass, () -> manager.update(entityClass, function, updateFunction));
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} filtered by the specified
+	 * expression {@code function} with a single bulk statement
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param function    an {@link ExpressionFunction} to apply filter
+	 * @param <T>         type of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T> int delete(Class<T> entityClass, ExpressionFunction<T> function) {
+		return withClassLock(entityClass, () -> manager.delete(entityClass, function));
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most 1000 primary keys each
+	 *
+	 * <p>
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys) {
+		return withClassLock(entityClass, () -> manager.deleteById(entityClass, primaryKeys));
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each
+	 *
+	 * <p>
+	 * The {@code chunkSize} should be kept under the database limit of statement parameters.
+	 * Entities are not loaded, thus the already managed entities are not removed from
+	 * the persistence context and lifecycle callbacks and cascades are not applied
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys, int chunkSize) {
+		return withClassLock(entityClass, () -> manager.deleteById(entityClass, primaryKeys, chunkSize));
+	}
+
+	/**
+	 * Deletes entities with the specified {@code entityClass} by their {@code primaryKeys}
+	 * with bulk {@code IN} list statements of at most {@code chunkSize} primary keys each,
+	 * running the statements in parallel on the specified {@code executor}
+	 *
+	 * <p>
+	 * Each statement runs with its own {@link EntityManager} in its own resource local transaction,
+	 * thus the deletion is not atomic: if any statement fails, the not yet started ones are cancelled,
+	 * while the already committed ones remain. Entities are not loaded, thus the already managed
+	 * entities are not removed from the persistence context
+	 *
+	 * <p>
+	 * Returns the number of deleted entities
+	 *
+	 * @param entityClass a class of an entity
+	 * @param primaryKeys primary keys of entities to delete
+	 * @param chunkSize   maximum number of primary keys per statement
+	 * @param executor    an {@link Executor} to run statements on
+	 * @param <T>         type of an entity
+	 * @param <K>         type of a primary key of an entity
+	 * @return number of deleted entities
+	 */
+	@Override
+	public <T, K> int deleteById(Class<T> entityClass, Collection<K> primaryKeys, int chunkSize, Executor executor) {
+		return withClassLock(entityClass, () -> manager.deleteById(entityClass, primaryKeys, chunkSize, executor));
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the unit of work ends
+	 *
+	 * <p>
+	 * Single and collection insert, update and delete operations invoked within the unit of work
+	 * do not flush the persistence context each, instead it is flushed once when the unit of work
+	 * ends successfully, thus the provider is able to batch the statements. A nested unit of work
+	 * joins the outer one. Queries may still flush the pending changes according to the
+	 * {@link javax.persistence.FlushModeType} of the underlying {@link EntityManager}
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param supplier a supplier to run within the unit of work
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	@Override
+	public <R> R unitOfWork(Supplier<R> supplier) {
+		return withGlobalLock(() -> manager.unitOfWork(supplier));
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a unit of work, which defers flushing
+	 * of entity write operations until the specified {@code flushThreshold} number of entities
+	 * is written or the unit of work ends
+	 *
+	 * <p>
+	 * Single and collection insert, update and delete operations invoked within the unit of work
+	 * do not flush the persistence context each, instead it is flushed once the number of written
+	 * entities since the last flush reaches the {@code flushThreshold} and once more when the
+	 * unit of work ends successfully, thus the provider is able to batch the statements, while
+	 * the number of pending changes stays bounded. A nested unit of work joins the outer one,
+	 * keeping the outer {@code flushThreshold}
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param flushThreshold number of written entities to flush after, {@code 0} means
+	 *                       flushing only when the unit of work ends
+	 * @param supplier       a supplier to run within the unit of work
+	 * @param <R>            type of the result
+	 * @return the result of the specified {@code supplier}
+	 */
+	@Override
+	public <R> R unitOfWork(int flushThreshold, Supplier<R> supplier) {
+		return withGlobalLock(() -> manager.unitOfWork(flushThreshold, supplier));
+	}
+
+	/**
+	 * Runs the specified {@code supplier} within a resource local transaction, thus all entity
+	 * write operations invoked within it are committed at once
+	 *
+	 * <p>
+	 * Begins a new transaction and commits it when the {@code supplier} completes, or rolls it back
+	 * if the {@code supplier} fails. A nested transaction scope joins the already active transaction,
+	 * marking it for rollback only if the nested {@code supplier} fails, thus the outermost scope fails
+	 * to commit even if it handles the failure
+	 *
+	 * <p>
+	 * Returns the result of the specified {@code supplier}
+	 *
+	 * @param supplier a supplier to run within the transaction
+	 * @param <R>      type of the result
+	 * @return the result of the specified {@code supplier}
+	 * @throws javax.persistence.RollbackException if the transaction is marked for rollback only
+	 *                                             or fails to commit
+	 */
+	@Override
+	public <R> R inTransaction(Supplier<R> supplier) {
+		return withGlobalLock(() -> manager.inTransaction(supplier));
+	}
+
+	/**
+	 * Refreshes the state of an entity
+	 *
+	 * @param entity an entity object to refresh the state of
+	 * @param <T>    type of an entity
+	 */
+	@Override
+	public <T> void refresh(T entity) {
+		manager.refresh(entity);
+	}
+
+	/**
+	 * Refreshes the state of each entity in the specified collection
+	 *
+	 * @param entities the collection of entities to refresh states of
+	 * @param <T>      type of an entity
+	 */
+	@Override
+	public <T> void refresh(Collection<T> entities) {
+		manager.refresh(entities);
+	}
+
+	/**
+	 * Detaches an entity from context
+	 *
+	 * @param entity an entity object to detach
+	 * @param <T>    type of an entity
+	 */
+	@Override
+	public <T> void detach(T entity) {
+		manager.detach(entity);
+	}
+
+	/**
+	 * Detaches the each entity in the specified collection from context
+	 *
+	 * @param entities the collection of entities to detach
+	 * @param <T>      type of an entity
+	 */
+	@Override
+	public <T> void detach(Collection<T> entities) {
+		manager.detach(entities);
+	}
+
+	/**
+	 * Returns the underlying {@link EntityManager}
+	 *
+	 * @return underlying {@link EntityManager} instance
+	 */
+	@Override
+	public EntityManager em() {
+		return manager.em();
+	}
+
+	/**
+	 * Returns the underlying {@link EntityManagerFactory}
+	 *
+	 * <p>
+	 * Unlike {@link #em()}, available regardless of whether an {@link EntityManager} is bound
+	 *
+	 * @return underlying {@link EntityManagerFactory} instance
+	 */
+	@Override
+	public EntityManagerFactory emf() {
+		return manager.emf();
+	}
+
+	/**
+	 * Applies the specified {@code supplier} holding all stripes exclusively
+	 *
+	 * @param supplier a supplier to apply
+	 * @param <R>      type of the result
+	 * @return result of the supplier
+	 */
+	private <R> R withGlobalLock(Supplier<R> supplier) {
+		Lock lock = globalLock.writeLock();
+		lock.lock();
+		try {
+			return supplier.get();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Applies the specified {@code supplier} holding the stripe of the specified {@code entityClass}
+	 * exclusively
+	 *
+	 * @param entityClass a class of an entity
+	 * @param supplier    a supplier to apply
+	 * @param <R>         type of the result
+	 * @return result of the supplier
+	 */
+	private <R> R withClassLock(Class<?> entityClass, Supplier<R> supplier) {
+		return withClassLocks(Stream.of(entityClass), supplier);
+	}
+
+	/**
+	 * Applies the specified {@code supplier} holding the stripes of classes of the specified
+	 * {@code entities} exclusively
+	 *
+	 * @param entities a collection of entities
+	 * @param supplier a supplier to apply
+	 * @param <R>      type of the result
+	 * @return result of the supplier
+	 */
+	private <R> R withEntitiesLock(Collection<?> entities, Supplier<R> supplier) {
+		return withClassLocks(entities.stream().map(Object::getClass), supplier);
+	}
+
+	/**
+	 * Applies the specified {@code supplier} holding the stripes of the specified {@code entityClasses}
+	 * exclusively
+	 *
+	 * <p>
+	 * Stripes are always locked in ascending order, thus concurrent operations on overlapping
+	 * sets of entity classes do not deadlock
+	 *
+	 * @param entityClasses a stream of entity classes
+	 * @param supplier      a supplier to apply
+	 * @param <R>           type of the result
+	 * @return result of the supplier
+	 */
+	private <R> R withClassLocks(Stream<? extends Class<?>> entityClasses, Supplier<R> supplier) {
+		int[] stripes = entityClasses
+				.mapToInt(entityClass -> stripe(rootEntityClasses.get(entityClass)))
+				.distinct()
+				.sorted()
+				.toArray();
+		Lock lock = globalLock.readLock();
+		lock.lock();
+		int locked = 0;
+		try {
+			for (; locked < stripes.length; locked++) {
+				classLocks[stripes[locked]].writeLock().lock();
+			}
+			return supplier.get();
+		} finally {
+			while (locked > 0) {
+				classLocks[stripes[--locked]].writeLock().unlock();
+			}
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Applies the specified {@code supplier} holding the stripe of the specified {@code entity}
+	 * primary key exclusively
+	 *
+	 * <p>
+	 * The stripe of the entity class is held shared, thus operations on other entities of the same
+	 * class proceed in parallel. Entities without primary key yet hold the entity class stripe only
+	 *
+	 * @param entity   an entity object
+	 * @param supplier a supplier to apply
+	 * @param <R>      type of the result
+	 * @return result of the supplier
+	 */
+	private <R> R withEntityLock(Object entity, Supplier<R> supplier) {
+		Class<?> entityClass = rootEntityClasses.get(entity.getClass());
+		Object primaryKey = getPrimaryKey(entity);
+		Lock lock = globalLock.readLock();
+		Lock classLock = classLocks[stripe(entityClass)].readLock();
+		lock.lock();
+		try {
+			classLock.lock();
+			try {
+				if (Objects.isNull(primaryKey)) {
+					return supplier.get();
+				}
+				Lock primaryKeyLock = primaryKeyLocks[stripe(Objects.hash(entityClass, primaryKey))];
+				primaryKeyLock.lock();
+				try {
+					return supplier.get();
+				} finally {
+					primaryKeyLock.unlock();
+				}
+			} finally {
+				classLock.unlock();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the primary key of the specified {@code entity}
+	 *
+	 * @param entity an entity object
+	 * @return the primary key of the entity or {@code null} if it is not assigned yet
+	 * or the entity is not recognized by the persistence unit
+	 */
+	private Object getPrimaryKey(Object entity) {
+		try {
+			return manager.emf().getPersistenceUnitUtil().getIdentifier(entity);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the stripe index of the specified {@code key}
+	 *
+	 * @param key a key to stripe
+	 * @return the stripe index
+	 */
+	private int stripe(Object key) {
+		return Math.floorMod(key.hashCode(), classLocks.length);
+	}
+
+}
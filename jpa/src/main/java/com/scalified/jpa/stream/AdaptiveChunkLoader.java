@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.stream;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A {@link ChunkLoader} decorator, which adapts size of a chunk to the measured chunk loading latency
+ *
+ * <p>
+ * After each full chunk the size of the next chunk is scaled by the ratio of the target latency
+ * to the measured one, but at most twice up or down, and kept within the minimum and maximum bounds.
+ * The requested size of a chunk is ignored
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class AdaptiveChunkLoader<T> implements ChunkLoader<T> {
+
+	/**
+	 * Maximum factor to scale size of a chunk by at once
+	 */
+	private static final double MAX_SCALE_FACTOR = 2.0;
+
+	/**
+	 * A delegate {@link ChunkLoader}
+	 */
+	private final ChunkLoader<T> loader;
+
+	/**
+	 * Minimum size of a chunk
+	 */
+	private final int minChunkSize;
+
+	/**
+	 * Maximum size of a chunk
+	 */
+	private final int maxChunkSize;
+
+	/**
+	 * Target chunk loading latency in nanoseconds
+	 */
+	private final long targetLatencyNanos;
+
+	/**
+	 * {@link StreamStatistics} to record the chosen size of a chunk into
+	 */
+	private final StreamStatistics statistics;
+
+	/**
+	 * Current size of a chunk
+	 */
+	private int chunkSize;
+
+	/**
+	 * Creates {@link AdaptiveChunkLoader} instance
+	 *
+	 * @param loader        a delegate {@link ChunkLoader}
+	 * @param chunkSize     initial size of a chunk
+	 * @param minChunkSize  minimum size of a chunk
+	 * @param maxChunkSize  maximum size of a chunk
+	 * @param targetLatency target chunk loading latency
+	 * @param statistics    {@link StreamStatistics} to record the chosen size of a chunk into
+	 */
+	public AdaptiveChunkLoader(ChunkLoader<T> loader, int chunkSize, int minChunkSize, int maxChunkSize,
+	                           Duration targetLatency, StreamStatistics statistics) {
+		this.loader = loader;
+		this.minChunkSize = minChunkSize;
+		this.maxChunkSize = maxChunkSize;
+		this.targetLatencyNanos = targetLatency.toNanos();
+		this.statistics = statistics;
+		this.chunkSize = Math.max(minChunkSize, Math.min(maxChunkSize, chunkSize));
+		statistics.recordChunkSize(this.chunkSize, true);
+	}
+
+	/**
+	 * Loads the next chunk of entities, which has at most the current adapted size
+	 *
+	 * @param chunkSize ignored
+	 * @return the next chunk of entities or an empty list if there are no more entities
+	 */
+	@Override
+	public List<T> load(int chunkSize) {
+		long start = System.nanoTime();
+		List<T> chunk = loader.load(this.chunkSize);
+		long latency = System.nanoTime() - start;
+
+		if (chunk.size() == this.chunkSize) {
+			adapt(latency);
+		}
+		return chunk;
+	}
+
+	/**
+	 * Scales size of a chunk by the ratio of the target latency to the specified {@code latency}
+	 *
+	 * @param latency measured chunk loading latency in nanoseconds
+	 */
+	private void adapt(long latency) {
+		double factor = (double) targetLatencyNanos / Math.max(latency, 1);
+		factor = Math.max(1 / MAX_SCALE_FACTOR, Math.min(MAX_SCALE_FACTOR, factor));
+		long scaled = Math.round(chunkSize * factor);
+		chunkSize = (int) Math.max(minChunkSize, Math.min(maxChunkSize, scaled));
+		statistics.recordChunkSize(chunkSize, true);
+	}
+
+}
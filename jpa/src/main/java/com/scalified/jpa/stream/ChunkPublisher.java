@@ -0,0 +1,279 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.stream;
+
+import com.scalified.jpa.commons.EntityManagerSource;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A {@link Flow.Publisher}, which loads entities chunk by chunk as subscribers request them
+ *
+ * <p>
+ * Each subscription loads chunks with a delegate {@link ChunkLoader} using its own
+ * {@link EntityManager} obtained from the {@link EntityManagerSource}, thus the published
+ * entities are detached. The next chunk is loaded only when the previous one is published
+ * and there is outstanding demand, thus at most one chunk is buffered per subscription
+ *
+ * <p>
+ * Chunks are loaded and published on the {@link Executor}, which is occupied only while
+ * there is outstanding demand. The {@link EntityManager} is closed when the subscription
+ * completes, fails or is cancelled
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class ChunkPublisher<T> implements Flow.Publisher<T> {
+
+	/**
+	 * An {@link EntityManagerSource} used to obtain {@link EntityManager} per subscription
+	 */
+	private final EntityManagerSource source;
+
+	/**
+	 * A function, which creates delegate {@link ChunkLoader} from {@link EntityManager}
+	 */
+	private final Function<EntityManager, ChunkLoader<T>> loaderFactory;
+
+	/**
+	 * Size of a chunk
+	 */
+	private final int chunkSize;
+
+	/**
+	 * An {@link Executor} to load and publish chunks on
+	 */
+	private final Executor executor;
+
+	/**
+	 * Creates {@link ChunkPublisher} instance
+	 *
+	 * @param source        an {@link EntityManagerSource} used to obtain {@link EntityManager} per subscription
+	 * @param loaderFactory a function, which creates delegate {@link ChunkLoader} from {@link EntityManager}
+	 * @param chunkSize     size of a chunk
+	 * @param executor      an {@link Executor} to load and publish chunks on, a new thread
+	 *                      is started per outstanding demand if {@code null}
+	 */
+	public ChunkPublisher(EntityManagerSource source, Function<EntityManager, ChunkLoader<T>> loaderFactory,
+	                      int chunkSize, Executor executor) {
+		this.source = source;
+		this.loaderFactory = loaderFactory;
+		this.chunkSize = chunkSize;
+		this.executor = Objects.nonNull(executor) ? executor : runnable -> {
+			Thread thread = new Thread(runnable, "jpa-publisher");
+			thread.setDaemon(true);
+			thread.start();
+		};
+	}
+
+	/**
+	 * Subscribes the specified {@code subscriber} to a new sequence of entities
+	 *
+	 * @param subscriber a {@link Flow.Subscriber} to publish entities to
+	 * @throws NullPointerException if the specified {@code subscriber} is {@code null}
+	 */
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber) {
+		Objects.requireNonNull(subscriber);
+		subscriber.onSubscribe(new ChunkSubscription(subscriber));
+	}
+
+	/**
+	 * A {@link Flow.Subscription}, which loads and publishes chunks while there is outstanding demand
+	 */
+	private class ChunkSubscription implements Flow.Subscription, Runnable {
+
+		/**
+		 * A {@link Flow.Subscriber} to publish entities to
+		 */
+		private final Flow.Subscriber<? super T> subscriber;
+
+		/**
+		 * Number of requested but not yet published entities
+		 */
+		private final AtomicLong demand = new AtomicLong();
+
+		/**
+		 * Number of signals not yet handled by the publishing loop
+		 */
+		private final AtomicInteger signals = new AtomicInteger();
+
+		/**
+		 * The loaded but not yet published entities
+		 */
+		private final Queue<T> chunk = new ArrayDeque<>();
+
+		/**
+		 * Whether the subscription is cancelled
+		 */
+		private volatile boolean cancelled;
+
+		/**
+		 * A failure to signal to the subscriber
+		 */
+		private volatile Throwable failure;
+
+		/**
+		 * Whether the subscription is terminated, accessed by the publishing loop only
+		 */
+		private boolean terminated;
+
+		/**
+		 * An {@link EntityManager} used to load chunks, accessed by the publishing loop only
+		 */
+		private EntityManager em;
+
+		/**
+		 * A delegate {@link ChunkLoader}, accessed by the publishing loop only
+		 */
+		private ChunkLoader<T> loader;
+
+		/**
+		 * Creates {@link ChunkSubscription} instance
+		 *
+		 * @param subscriber a {@link Flow.Subscriber} to publish entities to
+		 */
+		private ChunkSubscription(Flow.Subscriber<? super T> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		/**
+		 * Adds the specified number of entities to the outstanding demand
+		 *
+		 * @param n number of entities to add to the outstanding demand
+		 */
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				failure = new IllegalArgumentException("Requested number of entities must be positive: " + n);
+			} else {
+				demand.getAndUpdate(current -> Long.MAX_VALUE - current < n ? Long.MAX_VALUE : current + n);
+			}
+			signal();
+		}
+
+		/**
+		 * Cancels the subscription, releasing its {@link EntityManager}
+		 */
+		@Override
+		public void cancel() {
+			cancelled = true;
+			signal();
+		}
+
+		/**
+		 * Runs the publishing loop until all signals are handled
+		 */
+		@Override
+		public void run() {
+			int missed = 1;
+			do {
+				publish();
+				missed = signals.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		/**
+		 * Schedules the publishing loop unless it is already running
+		 */
+		private void signal() {
+			if (signals.getAndIncrement() == 0) {
+				executor.execute(this);
+			}
+		}
+
+		/**
+		 * Publishes entities while there is outstanding demand, loading the next chunk
+		 * when the previous one is published
+		 */
+		private void publish() {
+			if (terminated) return;
+
+			try {
+				while (!cancelled && Objects.isNull(failure) && demand.get() > 0) {
+					if (chunk.isEmpty()) {
+						List<T> loaded = load();
+						if (loaded.isEmpty()) {
+							terminate();
+							subscriber.onComplete();
+							return;
+						}
+						chunk.addAll(loaded);
+					}
+					demand.decrementAndGet();
+					subscriber.onNext(chunk.poll());
+				}
+				if (cancelled) {
+					terminate();
+				} else if (Objects.nonNull(failure)) {
+					terminate();
+					subscriber.onError(failure);
+				}
+			} catch (RuntimeException e) {
+				terminate();
+				subscriber.onError(e);
+			}
+		}
+
+		/**
+		 * Loads the next chunk of entities, creating {@link EntityManager} on first load
+		 *
+		 * @return the next chunk of entities or an empty list if there are no more entities
+		 */
+		private List<T> load() {
+			if (Objects.isNull(loader)) {
+				em = source.create();
+				loader = loaderFactory.apply(em);
+			}
+			List<T> loaded = loader.load(chunkSize);
+			em.clear();
+			return loaded;
+		}
+
+		/**
+		 * Terminates the subscription, releasing its {@link EntityManager}
+		 */
+		private void terminate() {
+			terminated = true;
+			chunk.clear();
+			if (Objects.nonNull(em)) {
+				EntityManager closed = em;
+				em = null;
+				source.close(closed);
+			}
+		}
+
+	}
+
+}
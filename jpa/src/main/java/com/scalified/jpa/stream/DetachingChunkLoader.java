@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.stream;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link ChunkLoader} decorator, which detaches the previous chunk from the persistence
+ * context before loading the next one
+ *
+ * <p>
+ * Keeps at most one chunk of the streamed entities managed, thus the persistence
+ * context does not grow while the stream is consumed
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class DetachingChunkLoader<T> implements ChunkLoader<T>, AutoCloseable {
+
+	/**
+	 * An {@link EntityManager} managing the loaded entities
+	 */
+	private final EntityManager em;
+
+	/**
+	 * A delegate {@link ChunkLoader}
+	 */
+	private final ChunkLoader<T> loader;
+
+	/**
+	 * Whether the whole persistence context is cleared instead of detaching
+	 * the previous chunk entities one by one
+	 */
+	private final boolean clear;
+
+	/**
+	 * {@link StreamStatistics} to record the detached entities into
+	 */
+	private final StreamStatistics statistics;
+
+	/**
+	 * The previous chunk of entities
+	 */
+	private List<T> previous = Collections.emptyList();
+
+	/**
+	 * Creates {@link DetachingChunkLoader} instance
+	 *
+	 * @param em         an {@link EntityManager} managing the loaded entities
+	 * @param loader     a delegate {@link ChunkLoader}
+	 * @param clear      whether the whole persistence context is cleared instead of
+	 *                   detaching the previous chunk entities one by one
+	 * @param statistics {@link StreamStatistics} to record the detached entities into
+	 */
+	public DetachingChunkLoader(EntityManager em, ChunkLoader<T> loader, boolean clear, StreamStatistics statistics) {
+		this.em = em;
+		this.loader = loader;
+		this.clear = clear;
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Detaches the previous chunk and loads the next chunk of entities,
+	 * which has at most the specified {@code chunkSize}
+	 *
+	 * @param chunkSize maximum size of a chunk
+	 * @return the next chunk of entities or an empty list if there are no more entities
+	 */
+	@Override
+	public List<T> load(int chunkSize) {
+		detach();
+		previous = loader.load(chunkSize);
+		return previous;
+	}
+
+	/**
+	 * Detaches the previous chunk
+	 */
+	@Override
+	public void close() {
+		detach();
+	}
+
+	/**
+	 * Detaches the previous chunk entities or clears the whole persistence context
+	 */
+	private void detach() {
+		if (previous.isEmpty()) return;
+
+		if (clear) {
+			em.clear();
+		} else {
+			previous.forEach(em::detach);
+		}
+		statistics.recordDetached(previous.size());
+		previous = Collections.emptyList();
+	}
+
+}
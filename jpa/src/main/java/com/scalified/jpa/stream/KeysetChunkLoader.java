@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.stream;
+
+import com.scalified.jpa.commons.EntityUtils;
+import com.scalified.jpa.function.ExpressionFunction;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link ChunkLoader}, which loads chunks using keyset (seek) paging
+ *
+ * <p>
+ * Remembers the key of the last entity in each chunk and loads the next chunk
+ * by filtering entities with the greater key ordered by the key, so that each
+ * chunk query costs the same regardless of the chunk position
+ *
+ * <p>
+ * The key attribute must be unique, not null and comparable
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class KeysetChunkLoader<T> implements ChunkLoader<T> {
+
+	/**
+	 * An underlying {@link EntityManager}
+	 */
+	private final EntityManager em;
+
+	/**
+	 * A class of the loaded entities
+	 */
+	private final Class<T> entityClass;
+
+	/**
+	 * An {@link ExpressionFunction} to filter entities, may be {@code null}
+	 */
+	private final ExpressionFunction<T> function;
+
+	/**
+	 * A name of the key attribute
+	 */
+	private final String attribute;
+
+	/**
+	 * The key of the last loaded entity
+	 */
+	private Object lastKey;
+
+	/**
+	 * Creates {@link KeysetChunkLoader} instance
+	 *
+	 * @param em          an underlying {@link EntityManager}
+	 * @param entityClass a class of the loaded entities
+	 * @param function    an {@link ExpressionFunction} to filter entities, may be {@code null}
+	 * @param attribute   a name of the key attribute
+	 */
+	public KeysetChunkLoader(EntityManager em, Class<T> entityClass, ExpressionFunction<T> function, String attribute) {
+		this.em = em;
+		this.entityClass = entityClass;
+		this.function = function;
+		this.attribute = attribute;
+	}
+
+	/**
+	 * Loads the next chunk of entities, which has at most the specified {@code chunkSize}
+	 *
+	 * @param chunkSize maximum size of a chunk
+	 * @return the next chunk of entities or an empty list if there are no more entities
+	 */
+	@Override
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public List<T> load(int chunkSize) {
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaQuery<T> criteriaQuery = builder.createQuery(entityClass);
+		Root<T> root = criteriaQuery.from(entityClass);
+		Path<Comparable> key = root.get(attribute);
+
+		List<Predicate> predicates = new ArrayList<>(2);
+		if (Objects.nonNull(function)) {
+			predicates.add(builder.isTrue(function.apply(builder, root)));
+		}
+		if (Objects.nonNull(lastKey)) {
+			predicates.add(builder.greaterThan(key, (Comparable) lastKey));
+		}
+		criteriaQuery.select(root)
+				.where(predicates.toArray(new Predicate[0]))
+				.orderBy(builder.asc(key));
+
+		List<T> chunk = em.createQuery(criteriaQuery)
+				.setMaxResults(chunkSize)
+				.getResultList();
+
+		if (!chunk.isEmpty()) {
+			T last = chunk.get(chunk.size() - 1);
+			lastKey = EntityUtils.getAttributeValue(em, entityClass, last, attribute);
+		}
+		return chunk;
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.stream;
+
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link ChunkLoader}, which loads chunks using {@code OFFSET} based paging
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class OffsetChunkLoader<T> implements ChunkLoader<T> {
+
+	/**
+	 * Entity query, either typed or native
+	 */
+	private final Query query;
+
+	/**
+	 * Start index position of each query
+	 */
+	private final AtomicInteger startIdx = new AtomicInteger(0);
+
+	/**
+	 * Creates {@link OffsetChunkLoader} instance
+	 *
+	 * @param query a {@link TypedQuery} instance
+	 */
+	public OffsetChunkLoader(TypedQuery<T> query) {
+		this.query = query;
+	}
+
+	/**
+	 * Creates {@link OffsetChunkLoader} instance
+	 *
+	 * <p>
+	 * The results of the specified {@code query} must be of the entity type
+	 *
+	 * @param query a native {@link Query} instance
+	 */
+	public OffsetChunkLoader(Query query) {
+		this.query = query;
+	}
+
+	/**
+	 * Loads the next chunk of entities, which has at most the specified {@code chunkSize}
+	 *
+	 * @param chunkSize maximum size of a chunk
+	 * @return the next chunk of entities or an empty list if there are no more entities
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<T> load(int chunkSize) {
+		return query.setFirstResult(startIdx.getAndAdd(chunkSize))
+				.setMaxResults(chunkSize)
+				.getResultList();
+	}
+
+}
@@ -0,0 +1,257 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.scalified.jpa.stream;
+
+import com.scalified.jpa.commons.EntityManagerSource;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A {@link ChunkLoader}, which loads chunks ahead of consumption in background
+ *
+ * <p>
+ * Chunks are loaded by a delegate {@link ChunkLoader} running on a background thread
+ * with its own {@link EntityManager} obtained from the {@link EntityManagerSource}.
+ * The loaded chunks are kept in a bounded buffer, thus the next chunks are loaded
+ * while the current one is processed. The loaded entities are detached
+ *
+ * <p>
+ * The background loading stops when all chunks are loaded or when this loader is closed.
+ * The background thread does not keep this loader reachable and periodically checks whether
+ * it is still reachable while waiting for free buffer space, thus the background loading
+ * of an abandoned loader (e.g. of a stream not fully consumed and not closed) stops once
+ * the loader is garbage collected, releasing its {@link EntityManager}
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class PrefetchingChunkLoader<T> implements ChunkLoader<T>, AutoCloseable {
+
+	/**
+	 * Interval to check whether background loading is stopped at while waiting for free buffer space
+	 */
+	private static final long STOP_CHECK_INTERVAL_MILLIS = 100;
+
+	/**
+	 * A state shared with the background loading
+	 */
+	private final Prefetch<T> prefetch;
+
+	/**
+	 * A background loading task
+	 */
+	private final FutureTask<Void> task;
+
+	/**
+	 * Whether all chunks are consumed
+	 */
+	private boolean finished;
+
+	/**
+	 * Creates {@link PrefetchingChunkLoader} instance and starts background loading
+	 *
+	 * @param source        an {@link EntityManagerSource} used to obtain background {@link EntityManager}
+	 * @param loaderFactory a function, which creates delegate {@link ChunkLoader} from {@link EntityManager}
+	 * @param chunkSize     size of a chunk
+	 * @param bufferSize    maximum number of chunks loaded ahead
+	 * @param executor      an {@link Executor} to run background loading on, a new thread
+	 *                      is started if {@code null}
+	 */
+	public PrefetchingChunkLoader(EntityManagerSource source, Function<EntityManager, ChunkLoader<T>> loaderFactory,
+	                              int chunkSize, int bufferSize, Executor executor) {
+		Prefetch<T> prefetch = new Prefetch<>(this, bufferSize, chunkSize);
+		this.prefetch = prefetch;
+		this.task = new FutureTask<>(() -> {
+			prefetch.run(source, loaderFactory);
+			return null;
+		});
+		if (Objects.nonNull(executor)) {
+			executor.execute(task);
+		} else {
+			Thread thread = new Thread(task, "jpa-prefetch");
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Returns the next chunk loaded in background, waiting for it if not loaded yet
+	 *
+	 * @param chunkSize maximum size of the next chunks to load in background
+	 * @return the next chunk of entities or an empty list if there are no more entities
+	 * @throws PersistenceException if background loading failed or waiting was interrupted
+	 */
+	@Override
+	public List<T> load(int chunkSize) {
+		prefetch.chunkSize = chunkSize;
+		if (finished) return Collections.emptyList();
+
+		List<T> chunk;
+		try {
+			chunk = prefetch.buffer.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PersistenceException("Interrupted while waiting for the next chunk", e);
+		}
+		if (chunk.isEmpty()) {
+			finished = true;
+			if (Objects.nonNull(prefetch.failure)) {
+				throw new PersistenceException("Failed to load the next chunk", prefetch.failure);
+			}
+		}
+		return chunk;
+	}
+
+	/**
+	 * Stops background loading and releases its {@link EntityManager}
+	 */
+	@Override
+	public void close() {
+		finished = true;
+		prefetch.stopped = true;
+		task.cancel(true);
+	}
+
+	/**
+	 * A state of background loading, which does not keep its {@link PrefetchingChunkLoader} reachable
+	 *
+	 * @param <T> type of the loaded entities
+	 */
+	private static class Prefetch<T> {
+
+		/**
+		 * A {@link PrefetchingChunkLoader} consuming the loaded chunks
+		 */
+		private final WeakReference<PrefetchingChunkLoader<T>> owner;
+
+		/**
+		 * A buffer of the loaded chunks, an empty chunk marks the end of loading
+		 */
+		private final BlockingQueue<List<T>> buffer;
+
+		/**
+		 * Size of the chunks to load in background
+		 */
+		private volatile int chunkSize;
+
+		/**
+		 * A failure occurred during background loading
+		 */
+		private volatile Throwable failure;
+
+		/**
+		 * Whether background loading is stopped by closing the {@link PrefetchingChunkLoader}
+		 */
+		private volatile boolean stopped;
+
+		/**
+		 * Creates {@link Prefetch} instance
+		 *
+		 * @param owner      a {@link PrefetchingChunkLoader} consuming the loaded chunks
+		 * @param bufferSize maximum number of chunks loaded ahead
+		 * @param chunkSize  size of a chunk
+		 */
+		private Prefetch(PrefetchingChunkLoader<T> owner, int bufferSize, int chunkSize) {
+			this.owner = new WeakReference<>(owner);
+			this.buffer = new ArrayBlockingQueue<>(bufferSize);
+			this.chunkSize = chunkSize;
+		}
+
+		/**
+		 * Loads chunks into buffer until there are no more entities or loading is stopped
+		 *
+		 * <p>
+		 * The empty end of stream marker is always queued, unless background loading is stopped,
+		 * thus the consumer never waits for a chunk, which is never loaded
+		 *
+		 * @param source        an {@link EntityManagerSource} used to obtain background {@link EntityManager}
+		 * @param loaderFactory a function, which creates delegate {@link ChunkLoader} from {@link EntityManager}
+		 * @throws InterruptedException if interrupted while waiting for free buffer space
+		 */
+		private void run(EntityManagerSource source, Function<EntityManager, ChunkLoader<T>> loaderFactory)
+				throws InterruptedException {
+			boolean ended = false;
+			EntityManager em = null;
+			try {
+				em = source.create();
+				ChunkLoader<T> loader = loaderFactory.apply(em);
+				List<T> chunk;
+				do {
+					chunk = loader.load(chunkSize);
+					em.clear();
+					if (!put(chunk)) {
+						ended = true;
+						return;
+					}
+				} while (!chunk.isEmpty());
+				ended = true;
+			} catch (InterruptedException e) {
+				ended = true;
+				throw e;
+			} catch (Throwable e) {
+				failure = e;
+			} finally {
+				try {
+					if (Objects.nonNull(em)) {
+						source.close(em);
+					}
+				} finally {
+					if (!ended) {
+						put(Collections.emptyList());
+					}
+				}
+			}
+		}
+
+		/**
+		 * Puts the specified {@code chunk} into buffer, waiting for free buffer space
+		 * until loading is stopped or the {@link PrefetchingChunkLoader} is garbage collected
+		 *
+		 * @param chunk a chunk to put
+		 * @return {@code true} if the chunk is put, {@code false} if loading is stopped
+		 * @throws InterruptedException if interrupted while waiting for free buffer space
+		 */
+		private boolean put(List<T> chunk) throws InterruptedException {
+			while (!buffer.offer(chunk, STOP_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (stopped || Objects.isNull(owner.get())) return false;
+			}
+			return true;
+		}
+
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.stream;
+
+import java.util.List;
+
+/**
+ * A {@link ChunkLoader} decorator, which records the loaded chunks into {@link StreamStatistics}
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class StatisticsChunkLoader<T> implements ChunkLoader<T> {
+
+	/**
+	 * A delegate {@link ChunkLoader}
+	 */
+	private final ChunkLoader<T> loader;
+
+	/**
+	 * {@link StreamStatistics} to record the loaded chunks into
+	 */
+	private final StreamStatistics statistics;
+
+	/**
+	 * Whether the loaded entities are managed
+	 */
+	private final boolean managed;
+
+	/**
+	 * Creates {@link StatisticsChunkLoader} instance
+	 *
+	 * @param loader     a delegate {@link ChunkLoader}
+	 * @param statistics {@link StreamStatistics} to record the loaded chunks into
+	 * @param managed    whether the loaded entities are managed
+	 */
+	public StatisticsChunkLoader(ChunkLoader<T> loader, StreamStatistics statistics, boolean managed) {
+		this.loader = loader;
+		this.statistics = statistics;
+		this.managed = managed;
+	}
+
+	/**
+	 * Loads the next chunk of entities, which has at most the specified {@code chunkSize}
+	 *
+	 * @param chunkSize maximum size of a chunk
+	 * @return the next chunk of entities or an empty list if there are no more entities
+	 */
+	@Override
+	public List<T> load(int chunkSize) {
+		statistics.recordChunkSize(chunkSize, false);
+		long start = System.nanoTime();
+		List<T> chunk = loader.load(chunkSize);
+		statistics.recordChunk(chunk.size(), managed, System.nanoTime() - start);
+		return chunk;
+	}
+
+}
@@ -0,0 +1,590 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.stream;
+
+import com.scalified.jpa.commons.EntitySpliterator;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * A stream configuration object
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class StreamConfig {
+
+	/**
+	 * Size of a chunk
+	 */
+	private int chunkSize = EntitySpliterator.DEFAULT_CHUNK_SIZE;
+
+	/**
+	 * Whether keyset (seek) paging is used instead of {@code OFFSET} paging
+	 */
+	private boolean keyset;
+
+	/**
+	 * A name of the keyset paging attribute, {@code null} means primary key attribute
+	 */
+	private String keysetAttribute;
+
+	/**
+	 * Whether the stream is parallel and partitioned by key ranges
+	 */
+	private boolean parallel;
+
+	/**
+	 * Maximum number of chunks loaded ahead in background, {@code 0} means no prefetching
+	 */
+	private int prefetch;
+
+	/**
+	 * An {@link Executor} to run background chunk loading on, may be {@code null}
+	 */
+	private Executor executor;
+
+	/**
+	 * Whether the consumed chunks are detached from the persistence context
+	 */
+	private boolean detach;
+
+	/**
+	 * Whether the persistence context is cleared after each consumed chunk
+	 */
+	private boolean clear;
+
+	/**
+	 * {@link StreamStatistics} to collect, may be {@code null}
+	 */
+	private StreamStatistics statistics;
+
+	/**
+	 * Minimum size of an adaptive chunk
+	 */
+	private int minChunkSize;
+
+	/**
+	 * Maximum size of an adaptive chunk
+	 */
+	private int maxChunkSize;
+
+	/**
+	 * Target chunk loading latency, {@code null} means size of a chunk is not adaptive
+	 */
+	private Duration targetLatency;
+
+	/**
+	 * Whether entities are streamed over a single provider cursor instead of chunked queries
+	 */
+	private boolean cursor;
+
+	/**
+	 * Number of rows fetched from the database per round trip, {@code 0} means provider default
+	 */
+	private int fetchSize;
+
+	/**
+	 * Whether the stream is sized by the count query
+	 */
+	private boolean sized;
+
+	/**
+	 * Creates {@link StreamConfig} instance
+	 */
+	private StreamConfig() {
+	}
+
+	/**
+	 * Creates stream configuration object builder
+	 *
+	 * @return stream configuration object builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns size of a chunk
+	 *
+	 * @return size of a chunk
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Returns {@code true} if keyset (seek) paging is used, otherwise returns {@code false}
+	 *
+	 * @return {@code true} if keyset (seek) paging is used, {@code false} otherwise
+	 */
+	public boolean isKeyset() {
+		return keyset;
+	}
+
+	/**
+	 * Returns a name of the keyset paging attribute
+	 *
+	 * @return a name of the keyset paging attribute or {@code null} if primary key attribute is used
+	 */
+	public String getKeysetAttribute() {
+		return keysetAttribute;
+	}
+
+	/**
+	 * Returns {@code true} if the stream is parallel, otherwise returns {@code false}
+	 *
+	 * @return {@code true} if the stream is parallel, {@code false} otherwise
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Returns maximum number of chunks loaded ahead in background
+	 *
+	 * @return maximum number of chunks loaded ahead or {@code 0} if prefetching is disabled
+	 */
+	public int getPrefetch() {
+		return prefetch;
+	}
+
+	/**
+	 * Returns an {@link Executor} to run background chunk loading on
+	 *
+	 * @return an {@link Executor} to run background chunk loading on or {@code null}
+	 * if a new thread is started for each stream
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Returns {@code true} if the consumed chunks are detached from the persistence context,
+	 * otherwise returns {@code false}
+	 *
+	 * @return {@code true} if the consumed chunks are detached, {@code false} otherwise
+	 */
+	public boolean isDetach() {
+		return detach;
+	}
+
+	/**
+	 * Returns {@code true} if the persistence context is cleared after each consumed chunk,
+	 * otherwise returns {@code false}
+	 *
+	 * @return {@code true} if the persistence context is cleared, {@code false} otherwise
+	 */
+	public boolean isClear() {
+		return clear;
+	}
+
+	/**
+	 * Returns {@link StreamStatistics} to collect
+	 *
+	 * @return {@link StreamStatistics} to collect or {@code null} if not collected
+	 */
+	public StreamStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Returns {@code true} if size of a chunk is adaptive, otherwise returns {@code false}
+	 *
+	 * @return {@code true} if size of a chunk is adaptive, {@code false} otherwise
+	 */
+	public boolean isAdaptive() {
+		return Objects.nonNull(targetLatency);
+	}
+
+	/**
+	 * Returns minimum size of an adaptive chunk
+	 *
+	 * @return minimum size of an adaptive chunk
+	 */
+	public int getMinChunkSize() {
+		return minChunkSize;
+	}
+
+	/**
+	 * Returns maximum size of an adaptive chunk
+	 *
+	 * @return maximum size of an adaptive chunk
+	 */
+	public int getMaxChunkSize() {
+		return maxChunkSize;
+	}
+
+	/**
+	 * Returns target chunk loading latency
+	 *
+	 * @return target chunk loading latency or {@code null} if size of a chunk is not adaptive
+	 */
+	public Duration getTargetLatency() {
+		return targetLatency;
+	}
+
+	/**
+	 * Returns {@code true} if entities are streamed over a single provider cursor,
+	 * otherwise returns {@code false}
+	 *
+	 * @return {@code true} if entities are streamed over a single provider cursor, {@code false} otherwise
+	 */
+	public boolean isCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Returns number of rows fetched from the database per round trip
+	 *
+	 * @return number of rows fetched per round trip or {@code 0} if provider default is used
+	 */
+	public int getFetchSize() {
+		return fetchSize;
+	}
+
+	/**
+	 * Returns {@code true} if the stream is sized by the count query, otherwise returns {@code false}
+	 *
+	 * @return {@code true} if the stream is sized by the count query, {@code false} otherwise
+	 */
+	public boolean isSized() {
+		return sized;
+	}
+
+	/**
+	 * Stream configuration object builder
+	 */
+	public static class Builder {
+
+		/**
+		 * An underlying stream configuration object
+		 */
+		private final StreamConfig config;
+
+		/**
+		 * Creates {@link Builder} instance
+		 */
+		public Builder() {
+			this.config = new StreamConfig();
+		}
+
+		/**
+		 * Sets size of a chunk
+		 *
+		 * @param chunkSize size of a chunk
+		 * @return this object
+		 * @throws IllegalArgumentException if the {@code chunkSize} is not positive
+		 */
+		public Builder withChunkSize(int chunkSize) {
+			requirePositive(chunkSize, "Chunk size");
+			this.config.chunkSize = chunkSize;
+			return this;
+		}
+
+		/**
+		 * Enables keyset (seek) paging by the primary key attribute
+		 *
+		 * <p>
+		 * Each chunk is loaded by filtering entities with the primary key greater than
+		 * the last one from the previous chunk instead of skipping rows with {@code OFFSET}
+		 *
+		 * @return this object
+		 */
+		public Builder withKeyset() {
+			this.config.keyset = true;
+			return this;
+		}
+
+		/**
+		 * Enables keyset (seek) paging by the specified {@code attribute}
+		 *
+		 * <p>
+		 * The attribute must be unique, not null and comparable
+		 *
+		 * @param attribute a name of the keyset paging attribute
+		 * @return this object
+		 */
+		public Builder withKeyset(String attribute) {
+			this.config.keyset = true;
+			this.config.keysetAttribute = attribute;
+			return this;
+		}
+
+		/**
+		 * Makes the stream parallel
+		 *
+		 * <p>
+		 * The stream is partitioned by ranges of the integral ({@code long}, {@code int}, {@code short}
+		 * or {@code byte}) keyset paging attribute (primary key attribute by default), which are
+		 * probed with min / max query.
+		 * Each partition is loaded with its own {@link javax.persistence.EntityManager},
+		 * thus the streamed entities are detached. The stream must be closed to release
+		 * the {@link javax.persistence.EntityManager} instances of not fully traversed partitions
+		 *
+		 * @return this object
+		 */
+		public Builder withParallel() {
+			this.config.keyset = true;
+			this.config.parallel = true;
+			return this;
+		}
+
+		/**
+		 * Enables loading of up to the specified number of {@code chunks} ahead on a new
+		 * background thread
+		 *
+		 * <p>
+		 * Chunks are loaded with a separate {@link javax.persistence.EntityManager},
+		 * thus the streamed entities are detached. The stream should be closed to stop
+		 * background loading if it is not fully consumed, otherwise background loading stops
+		 * only once the stream is garbage collected
+		 *
+		 * @param chunks maximum number of chunks loaded ahead, {@code 0} disables prefetching
+		 * @return this object
+		 * @throws IllegalArgumentException if the {@code chunks} is negative
+		 */
+		public Builder withPrefetch(int chunks) {
+			requireNonNegative(chunks, "Prefetch chunks");
+			this.config.prefetch = chunks;
+			return this;
+		}
+
+		/**
+		 * Enables loading of up to the specified number of {@code chunks} ahead on
+		 * the specified {@code executor}
+		 *
+		 * <p>
+		 * Chunks are loaded with a separate {@link javax.persistence.EntityManager},
+		 * thus the streamed entities are detached. The stream should be closed to stop
+		 * background loading if it is not fully consumed, otherwise background loading stops
+		 * only once the stream is garbage collected
+		 *
+		 * @param chunks   maximum number of chunks loaded ahead, {@code 0} disables prefetching
+		 * @param executor an {@link Executor} to run background chunk loading on
+		 * @return this object
+		 * @throws IllegalArgumentException if the {@code chunks} is negative
+		 */
+		public Builder withPrefetch(int chunks, Executor executor) {
+			requireNonNegative(chunks, "Prefetch chunks");
+			this.config.prefetch = chunks;
+			this.config.executor = executor;
+			return this;
+		}
+
+		/**
+		 * Sets an {@link Executor} to run background chunk loading on
+		 *
+		 * <p>
+		 * Used by prefetching streams and publishers, a new thread is started if not set
+		 *
+		 * @param executor an {@link Executor} to run background chunk loading on
+		 * @return this object
+		 */
+		public Builder withExecutor(Executor executor) {
+			this.config.executor = executor;
+			return this;
+		}
+
+		/**
+		 * Enables detaching of each consumed chunk from the persistence context
+		 * when the next chunk is loaded
+		 *
+		 * <p>
+		 * Keeps at most one chunk of the streamed entities managed, thus the persistence
+		 * context does not grow regardless of the number of streamed entities
+		 *
+		 * @return this object
+		 */
+		public Builder withDetach() {
+			this.config.detach = true;
+			return this;
+		}
+
+		/**
+		 * Enables clearing of the whole persistence context after each consumed chunk
+		 *
+		 * <p>
+		 * Cheaper than detaching entities one by one, however detaches all other
+		 * entities managed by the persistence context as well
+		 *
+		 * @return this object
+		 */
+		public Builder withClear() {
+			this.config.detach = true;
+			this.config.clear = true;
+			return this;
+		}
+
+		/**
+		 * Sets {@link StreamStatistics} to collect while the stream is consumed
+		 *
+		 * @param statistics {@link StreamStatistics} to collect
+		 * @return this object
+		 */
+		public Builder withStatistics(StreamStatistics statistics) {
+			this.config.statistics = statistics;
+			return this;
+		}
+
+		/**
+		 * Enables adaptive size of a chunk
+		 *
+		 * <p>
+		 * Starting from the configured size of a chunk, the size is grown when chunks load
+		 * faster than the specified {@code targetLatency} and shrunk when slower, staying within
+		 * the specified bounds. The {@code maxChunkSize} is the memory budget, which limits
+		 * the number of entities loaded at once. The finally chosen size is available
+		 * via {@link StreamStatistics#getChunkSize()}
+		 *
+		 * @param minChunkSize  minimum size of a chunk
+		 * @param maxChunkSize  maximum size of a chunk
+		 * @param targetLatency target chunk loading latency
+		 * @return this object
+		 * @throws IllegalArgumentException if the {@code minChunkSize} is not positive, the {@code maxChunkSize}
+		 *                                  is less than the {@code minChunkSize} or the {@code targetLatency}
+		 *                                  is {@code null} or not positive
+		 */
+		public Builder withAdaptiveChunkSize(int minChunkSize, int maxChunkSize, Duration targetLatency) {
+			requirePositive(minChunkSize, "Min chunk size");
+			if (maxChunkSize < minChunkSize) {
+				throw new IllegalArgumentException("Max chunk size must not be less than min chunk size: "
+						+ maxChunkSize + " < " + minChunkSize);
+			}
+			if (Objects.isNull(targetLatency) || targetLatency.isZero() || targetLatency.isNegative()) {
+				throw new IllegalArgumentException("Target latency must be positive: " + targetLatency);
+			}
+			this.config.minChunkSize = minChunkSize;
+			this.config.maxChunkSize = maxChunkSize;
+			this.config.targetLatency = targetLatency;
+			return this;
+		}
+
+		/**
+		 * Enables streaming of entities over a single provider cursor obtained via
+		 * {@link javax.persistence.TypedQuery#getResultStream()}
+		 *
+		 * <p>
+		 * Issues a single query instead of a query per chunk, thus suits single pass scans
+		 * best. Chunk size and paging options are ignored, while parallel, prefetching and adaptive
+		 * chunk size options can not be combined with it. The stream must be closed to release
+		 * the underlying cursor
+		 *
+		 * @return this object
+		 */
+		public Builder withCursor() {
+			this.config.cursor = true;
+			return this;
+		}
+
+		/**
+		 * Enables streaming of entities over a single provider cursor, which fetches
+		 * the specified {@code fetchSize} rows per database round trip
+		 *
+		 * <p>
+		 * The fetch size is passed as a provider specific query hint
+		 *
+		 * @param fetchSize number of rows fetched per round trip
+		 * @return this object
+		 * @throws IllegalArgumentException if the {@code fetchSize} is not positive
+		 * @see #withCursor()
+		 */
+		public Builder withCursor(int fetchSize) {
+			requirePositive(fetchSize, "Fetch size");
+			this.config.cursor = true;
+			this.config.fetchSize = fetchSize;
+			return this;
+		}
+
+		/**
+		 * Makes the stream sized by the count of the matching entities, which is queried
+		 * before the stream is consumed
+		 *
+		 * <p>
+		 * The stream reports {@link java.util.Spliterator#SIZED} and {@link java.util.Spliterator#SUBSIZED}
+		 * characteristics, thus collectors allocate buffers once. At most the counted number of entities
+		 * is streamed. The data must not be deleted while the stream is consumed, otherwise collectors
+		 * relying on the exact size may fail. Parallel streams ignore this option
+		 *
+		 * @return this object
+		 */
+		public Builder withSized() {
+			this.config.sized = true;
+			return this;
+		}
+
+		/**
+		 * Builds stream configuration object
+		 *
+		 * @return stream configuration object
+		 * @throws IllegalStateException if cursor streaming is combined with parallel, prefetching
+		 *                               or adaptive chunk size options
+		 */
+		public StreamConfig build() {
+			if (config.cursor) {
+				if (config.parallel) {
+					throw new IllegalStateException("Cursor streaming can not be combined with parallel streaming");
+				}
+				if (config.prefetch > 0) {
+					throw new IllegalStateException("Cursor streaming can not be combined with prefetching");
+				}
+				if (config.isAdaptive()) {
+					throw new IllegalStateException("Cursor streaming can not be combined with adaptive chunk size");
+				}
+			}
+			return this.config;
+		}
+
+		/**
+		 * Checks the specified {@code value} is positive
+		 *
+		 * @param value a value to check
+		 * @param name  a name of the value
+		 * @throws IllegalArgumentException if the {@code value} is not positive
+		 */
+		private static void requirePositive(int value, String name) {
+			if (value <= 0) {
+				throw new IllegalArgumentException(name + " must be positive: " + value);
+			}
+		}
+
+		/**
+		 * Checks the specified {@code value} is not negative
+		 *
+		 * @param value a value to check
+		 * @param name  a name of the value
+		 * @throws IllegalArgumentException if the {@code value} is negative
+		 */
+		private static void requireNonNegative(int value, String name) {
+			if (value < 0) {
+				throw new IllegalArgumentException(name + " must not be negative: " + value);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Scalified
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.scalified.jpa.stream;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of a stream, collected while the stream is consumed
+ *
+ * <p>
+ * Thread safe, thus can be read while the stream is consumed
+ *
+ * @author shell
+ * @since 2026-10-16
+ */
+public class StreamStatistics {
+
+	/**
+	 * Number of the loaded chunks
+	 */
+	private final AtomicLong chunkCount = new AtomicLong();
+
+	/**
+	 * Number of the loaded entities
+	 */
+	private final AtomicLong entityCount = new AtomicLong();
+
+	/**
+	 * Number of the loaded entities, which are still managed
+	 */
+	private final AtomicLong managedCount = new AtomicLong();
+
+	/**
+	 * Total time spent loading chunks in nanoseconds
+	 */
+	private final AtomicLong loadNanos = new AtomicLong();
+
+	/**
+	 * Current size of a chunk
+	 */
+	private volatile int chunkSize;
+
+	/**
+	 * Whether size of a chunk is adapted
+	 */
+	private volatile boolean adapted;
+
+	/**
+	 * Returns number of the loaded chunks
+	 *
+	 * @return number of the loaded chunks
+	 */
+	public long getChunkCount() {
+		return chunkCount.get();
+	}
+
+	/**
+	 * Returns number of the loaded entities
+	 *
+	 * @return number of the loaded entities
+	 */
+	public long getEntityCount() {
+		return entityCount.get();
+	}
+
+	/**
+	 * Returns number of the loaded entities, which are still managed by
+	 * the persistence context
+	 *
+	 * @return number of the loaded entities, which are still managed
+	 */
+	public long getManagedCount() {
+		return managedCount.get();
+	}
+
+	/**
+	 * Returns total time spent waiting for chunks to load
+	 *
+	 * @return total time spent waiting for chunks to load
+	 */
+	public Duration getLoadTime() {
+		return Duration.ofNanos(loadNanos.get());
+	}
+
+	/**
+	 * Returns number of the loaded entities per second of chunk loading time
+	 *
+	 * @return number of the loaded entities per second
+	 */
+	public double getEntitiesPerSecond() {
+		long nanos = loadNanos.get();
+		return nanos == 0 ? 0 : entityCount.get() * 1e9 / nanos;
+	}
+
+	/**
+	 * Returns current size of a chunk, which is the finally chosen size
+	 * once the stream is consumed
+	 *
+	 * @return current size of a chunk
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Records the loaded chunk
+	 *
+	 * @param size    size of the loaded chunk
+	 * @param managed whether the loaded entities are managed
+	 * @param nanos   time spent loading the chunk in nanoseconds
+	 */
+	void recordChunk(int size, boolean managed, long nanos) {
+		loadNanos.addAndGet(nanos);
+		if (size > 0) {
+			chunkCount.incrementAndGet();
+			entityCount.addAndGet(size);
+			if (managed) {
+				managedCount.addAndGet(size);
+			}
+		}
+	}
+
+	/**
+	 * Records the detached entities
+	 *
+	 * @param count number of the detached entities
+	 */
+	void recordDetached(int count) {
+		managedCount.addAndGet(-count);
+	}
+
+	/**
+	 * Records current size of a chunk
+	 *
+	 * <p>
+	 * Once an adapted size is recorded, requested sizes are ignored
+	 *
+	 * @param chunkSize current size of a chunk
+	 * @param adapted   whether the size is adapted rather than requested
+	 */
+	void recordChunkSize(int chunkSize, boolean adapted) {
+		if (adapted) {
+			this.adapted = true;
+			this.chunkSize = chunkSize;
+		} else if (!this.adapted) {
+			this.chunkSize = chunkSize;
+		}
+	}
+
+}